@@ -0,0 +1,19 @@
+-- ========================================
+-- MIGRACIÓN: tbl_token.access_token -> access_token_hash
+-- ========================================
+-- Ejecutar ANTES de desplegar la versión que busca tokens por hash.
+-- El hash se calcula en MySQL con el mismo algoritmo que TokenHashUtils
+-- (SHA-256 sobre el JWT en UTF-8), por lo que los tokens vigentes siguen
+-- siendo válidos después de la migración.
+
+ALTER TABLE tbl_token ADD COLUMN access_token_hash BINARY(32) NULL;
+
+UPDATE tbl_token
+   SET access_token_hash = UNHEX(SHA2(access_token, 256))
+ WHERE access_token_hash IS NULL;
+
+ALTER TABLE tbl_token MODIFY access_token_hash BINARY(32) NOT NULL;
+ALTER TABLE tbl_token ADD CONSTRAINT uk_token_access_token_hash UNIQUE (access_token_hash);
+
+-- El token en claro ya no se almacena
+ALTER TABLE tbl_token DROP COLUMN access_token;
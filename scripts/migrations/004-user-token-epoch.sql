@@ -0,0 +1,7 @@
+-- ========================================
+-- MIGRACIÓN: tbl_user.token_epoch
+-- ========================================
+-- Epoch de revocación por usuario (jwt.revocation.epoch-enabled=true).
+-- Los usuarios existentes empiezan en 0.
+
+ALTER TABLE tbl_user ADD COLUMN token_epoch BIGINT NOT NULL DEFAULT 0;
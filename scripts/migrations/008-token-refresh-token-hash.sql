@@ -0,0 +1,11 @@
+-- ========================================
+-- MIGRACIÓN: tbl_token.refresh_token -> refresh_token_hash
+-- ========================================
+-- El refresh token pasa a ser opaco, rotativo y almacenado como SHA-256.
+-- La columna anterior solo contenía '' y su índice UNIQUE rompía el segundo login.
+
+ALTER TABLE tbl_token DROP COLUMN refresh_token;
+
+ALTER TABLE tbl_token ADD COLUMN refresh_token_hash BINARY(32) NULL;
+
+ALTER TABLE tbl_token ADD CONSTRAINT uk_token_refresh_token_hash UNIQUE (refresh_token_hash);
@@ -0,0 +1,6 @@
+-- ========================================
+-- MIGRACIÓN: índice de paginación de tbl_task
+-- ========================================
+-- Keyset (created_at, id) por usuario para GET /rest/api/v1/tasks?limit=&cursor=
+
+CREATE INDEX idx_task_user_created_at ON tbl_task (user_id, created_at, id);
@@ -0,0 +1,8 @@
+-- ========================================
+-- MIGRACIÓN: índices de filtros de tbl_task
+-- ========================================
+-- Lista filtrada por completed (p. ej. solo pendientes) y por rango de updated_at
+
+CREATE INDEX idx_task_user_completed_created_at ON tbl_task (user_id, completed, created_at, id);
+
+CREATE INDEX idx_task_user_updated_at ON tbl_task (user_id, updated_at);
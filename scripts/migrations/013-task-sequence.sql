@@ -0,0 +1,13 @@
+-- ========================================
+-- MIGRACIÓN: tbl_task.id por secuencia (pooled)
+-- ========================================
+-- Task.id deja de usar IDENTITY para permitir lotes JDBC. En MySQL Hibernate emula
+-- la secuencia con la tabla tbl_task_seq (allocationSize = 50).
+-- Ejecutar ANTES de desplegar: el siguiente valor debe quedar por encima de los ids existentes.
+
+CREATE TABLE IF NOT EXISTS tbl_task_seq (next_val BIGINT);
+
+DELETE FROM tbl_task_seq;
+
+INSERT INTO tbl_task_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM tbl_task;
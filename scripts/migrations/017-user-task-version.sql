@@ -0,0 +1,8 @@
+-- ========================================
+-- MIGRACIÓN: tbl_user.task_version
+-- ========================================
+-- Versión de las tareas de cada usuario, expuesta como ETag en GET /tasks y
+-- GET /tasks/{id}. Se incrementa en cada escritura de tareas del usuario.
+-- Los usuarios existentes empiezan en 0.
+
+ALTER TABLE tbl_user ADD COLUMN task_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- ========================================
+-- MIGRACIÓN: email único en tbl_user
+-- ========================================
+-- User.email es el natural id de la cache de segundo nivel de Hibernate.
+-- Revisar antes que no haya emails duplicados:
+--   SELECT email, COUNT(*) FROM tbl_user GROUP BY email HAVING COUNT(*) > 1;
+
+ALTER TABLE tbl_user ADD CONSTRAINT uk_user_email UNIQUE (email);
@@ -3,16 +3,36 @@
 # SETUP DE PRODUCCIÓN - JWT KEYS SEGURAS
 # ========================================
 
-echo "🔐 Configurando JWT Keys para Producción..."
+# Algoritmo de firma: RS256 (por defecto), ES256 o EDDSA
+# Uso: ./setup-keys.sh [RS256|ES256|EDDSA]
+JWT_SIGNATURE_ALGORITHM="${1:-${JWT_SIGNATURE_ALGORITHM:-RS256}}"
+
+echo "🔐 Configurando JWT Keys para Producción (${JWT_SIGNATURE_ALGORITHM})..."
 
 # Crear directorio seguro para keys
 sudo mkdir -p /etc/keys
 sudo chmod 700 /etc/keys
 
-# Generar par de keys RSA
-echo "📝 Generando par de keys RSA..."
-openssl genrsa -out /tmp/privateKey.pem 2048
-openssl rsa -pubout -in /tmp/privateKey.pem -out /tmp/publicKey.pem
+# Generar par de keys según el algoritmo (PKCS#8)
+case "$JWT_SIGNATURE_ALGORITHM" in
+    RS256)
+        echo "📝 Generando par de keys RSA..."
+        openssl genpkey -algorithm RSA -pkeyopt rsa_keygen_bits:2048 -out /tmp/privateKey.pem
+        ;;
+    ES256)
+        echo "📝 Generando par de keys EC P-256..."
+        openssl genpkey -algorithm EC -pkeyopt ec_paramgen_curve:P-256 -out /tmp/privateKey.pem
+        ;;
+    EDDSA)
+        echo "📝 Generando par de keys Ed25519..."
+        openssl genpkey -algorithm ed25519 -out /tmp/privateKey.pem
+        ;;
+    *)
+        echo "❌ Algoritmo no soportado: $JWT_SIGNATURE_ALGORITHM (usar RS256, ES256 o EDDSA)"
+        exit 1
+        ;;
+esac
+openssl pkey -pubout -in /tmp/privateKey.pem -out /tmp/publicKey.pem
 
 # Mover keys al directorio seguro
 sudo mv /tmp/privateKey.pem /etc/keys/
@@ -33,11 +53,13 @@ echo ""
 echo "🌍 Variables de entorno requeridas:"
 echo "export JWT_PUBLIC_KEY_PATH=file:///etc/keys/publicKey.pem"
 echo "export JWT_PRIVATE_KEY_PATH=file:///etc/keys/privateKey.pem"
+echo "export JWT_SIGNATURE_ALGORITHM=${JWT_SIGNATURE_ALGORITHM}"
 
 echo ""
 echo "🐳 Para Docker:"
 echo "docker run -e JWT_PUBLIC_KEY_PATH=file:///etc/keys/publicKey.pem \\"
 echo "           -e JWT_PRIVATE_KEY_PATH=file:///etc/keys/privateKey.pem \\"
+echo "           -e JWT_SIGNATURE_ALGORITHM=${JWT_SIGNATURE_ALGORITHM} \\"
 echo "           -v /etc/keys:/etc/keys:ro \\"
 echo "           task-manager-app:latest"
 
@@ -1,13 +1,17 @@
 package com.taskmanager.configuration;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Optional;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
-import com.taskmanager.model.Token;
+import com.taskmanager.model.user.Token;
 import com.taskmanager.repository.TokenRepository;
+import com.taskmanager.service.ITokenCacheService;
 import com.taskmanager.utils.JwtUtils;
+import com.taskmanager.utils.TokenHashUtils;
 
 import io.quarkus.security.UnauthorizedException;
 import io.quarkus.security.identity.SecurityIdentity;
@@ -31,12 +35,18 @@ public class JwtAuthFilter implements ContainerRequestFilter {
     @Inject
     private TokenRepository tokenRepository;
 
+    @Inject
+    private ITokenCacheService tokenCacheService;
+
     @Inject
     private SecurityIdentity securityIdentity;
 
+    @ConfigProperty(name = "jwt.revocation.epoch-enabled", defaultValue = "false")
+    boolean epochRevocationEnabled;
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
-        
+
         if (securityIdentity.isAnonymous()) {
             LOG.info("Request is anonymous, skipping JWT authentication filter");
             return;
@@ -55,20 +65,55 @@ public class JwtAuthFilter implements ContainerRequestFilter {
         LOG.info("Extracted token: " + token);
 
         try {
-            Optional<Token> tokenEntity = tokenRepository.findByAccessToken(token);
+            Instant expiration = jwtUtils.getExpiration(token);
 
-            if (tokenEntity.isEmpty() || !tokenEntity.get().isValid()) {
-                LOG.warn("Invalid or expired token");
-                throw new UnauthorizedException("Invalid or expired token");
-            }
-
-            if (jwtUtils.isExpired(token)) {
+            if (expiration != null && Instant.now().isAfter(expiration)) {
                 LOG.warn("Token has expired");
                 throw new UnauthorizedException("Token has expired");
             }
+
+            boolean valid = epochRevocationEnabled
+                    ? isTokenEpochCurrent(token)
+                    : isTokenValid(token, expiration);
+
+            if (!valid) {
+                LOG.warn("Invalid or expired token");
+                throw new UnauthorizedException("Invalid or expired token");
+            }
         } catch (UnauthorizedException e) {
             LOG.error("Unauthorized access", e);
             throw new UnauthorizedException("Invalid token", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Check the token state in the cache, falling back to the database on a miss
+     */
+    private boolean isTokenValid(String token, Instant expiration) {
+        byte[] tokenHash = TokenHashUtils.sha256(token);
+        String cacheKey = TokenHashUtils.toHex(tokenHash);
+
+        Optional<Boolean> cached = tokenCacheService.getValidity(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Optional<Token> tokenEntity = tokenRepository.findByAccessTokenHash(tokenHash);
+        boolean valid = tokenEntity.isPresent() && tokenEntity.get().isValid();
+        Long userId = tokenEntity.map(t -> t.getUser().getId()).orElse(null);
+        tokenCacheService.putValidity(cacheKey, userId, valid, expiration);
+        return valid;
+    }
+
+    /**
+     * Compare the token epoch claim against the cached epoch of the user, without touching tbl_token
+     */
+    private boolean isTokenEpochCurrent(String token) {
+        Long tokenEpoch = jwtUtils.getTokenEpoch(token);
+        if (tokenEpoch == null) {
+            return false;
+        }
+        Optional<Long> currentEpoch = tokenCacheService.getTokenEpoch(jwtUtils.getEmail(token));
+        return currentEpoch.isPresent() && currentEpoch.get().equals(tokenEpoch);
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskmanager.configuration;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ReadOnlyTransactional
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 200)
+public class ReadOnlyTransactionInterceptor {
+
+    // Marca en los recursos de la transacción JTA; la sesión de "tasks" se configura al ligar el shard
+    private static final String READ_ONLY_RESOURCE = ReadOnlyTransactionInterceptor.class.getName() + ".readOnly";
+
+    @Inject
+    private Session session;
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * La sesión vive lo que dura la transacción, así que el modo de solo lectura no se filtra a otras.
+     * Dentro de una transacción ya abierta (p. ej. de escritura) no se cambia su modo. La sesión de la
+     * unidad "tasks" no se toca aquí: abrirla resolvería el tenant antes de ligar el shard del usuario
+     */
+    @AroundInvoke
+    public Object readOnly(InvocationContext context) throws Exception {
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            return context.proceed();
+        }
+        return QuarkusTransaction.requiringNew().call(() -> {
+            transactionRegistry.putResource(READ_ONLY_RESOURCE, Boolean.TRUE);
+            configure(session);
+            return context.proceed();
+        });
+    }
+
+    /**
+     * Whether the current transaction was started by @ReadOnlyTransactional
+     */
+    public static boolean isReadOnly(TransactionSynchronizationRegistry transactionRegistry) {
+        return transactionRegistry.getTransactionKey() != null
+                && Boolean.TRUE.equals(transactionRegistry.getResource(READ_ONLY_RESOURCE));
+    }
+
+    /**
+     * Read-only session without flush, so loaded entities keep no dirty-checking snapshot
+     */
+    public static void configure(Session session) {
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+    }
+}
@@ -0,0 +1,20 @@
+package com.taskmanager.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.interceptor.InterceptorBinding;
+
+/**
+ * Run the method in a read-only transaction: entities are loaded without dirty-checking snapshots
+ * and the session is never flushed. Joins the current transaction unchanged when one is active.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ReadOnlyTransactional {
+}
@@ -0,0 +1,29 @@
+package com.taskmanager.configuration;
+
+import com.taskmanager.service.IShardRoutingService;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@PersistenceUnitExtension("tasks")
+@ApplicationScoped
+public class TaskShardTenantResolver implements TenantResolver {
+
+    @Inject
+    private IShardRoutingService shardRoutingService;
+
+    @Override
+    public String getDefaultTenantId() {
+        return IShardRoutingService.DEFAULT_SHARD;
+    }
+
+    /**
+     * Shard asociado a la transacción actual por el servicio de tareas antes del primer acceso a tbl_task
+     */
+    @Override
+    public String resolveTenantId() {
+        return shardRoutingService.currentShard();
+    }
+}
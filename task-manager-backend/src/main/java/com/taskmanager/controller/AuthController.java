@@ -5,8 +5,13 @@ import org.jboss.logging.Logger;
 import com.taskmanager.dto.APIResponseDTO;
 import com.taskmanager.dto.AuthResponseDTO;
 import com.taskmanager.dto.LoginRequestDTO;
-import com.taskmanager.model.User;
+import com.taskmanager.dto.RefreshRequestDTO;
+import com.taskmanager.exception.TooManyRequestsException;
+import com.taskmanager.model.user.User;
 import com.taskmanager.service.IAuthService;
+import com.taskmanager.service.ILoginRateLimitService;
+
+import io.vertx.core.http.HttpServerRequest;
 
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
@@ -32,6 +37,9 @@ public class AuthController {
     @Inject
     private IAuthService authService;
 
+    @Inject
+    private ILoginRateLimitService loginRateLimitService;
+
     /**
      * Endpoint for registration
      */
@@ -47,6 +55,9 @@ public class AuthController {
             return Response.status(Response.Status.CREATED)
                     .entity(responseDTO)
                     .build();
+        } catch (TooManyRequestsException e) {
+            LOG.warnf("Registration rejected for: %s", user.getEmail());
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             LOG.errorf(e, "Error in registration for: %s", user.getEmail());
             APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.BAD_REQUEST.getStatusCode());
@@ -68,9 +79,17 @@ public class AuthController {
     @POST
     @Path("/login")
     @PermitAll
-    public Response login(@Valid LoginRequestDTO request) {
+    public Response login(@Valid LoginRequestDTO request, @Context HttpServerRequest httpRequest) {
         LOG.infof("Login request for: %s", request.getEmail());
 
+        // Admisión antes de consultar la BD o ejecutar BCrypt
+        try {
+            loginRateLimitService.acquire(request.getEmail(), getClientAddress(httpRequest));
+        } catch (TooManyRequestsException e) {
+            LOG.warnf("Login rejected for: %s", request.getEmail());
+            return tooManyRequests(e);
+        }
+
         try {
             User user = new User();
             user.setEmail(request.getEmail());
@@ -78,6 +97,9 @@ public class AuthController {
             AuthResponseDTO response = authService.login(user);
             APIResponseDTO<AuthResponseDTO> responseDTO = APIResponseDTO.success("Login successful", response, Response.Status.OK.getStatusCode());
             return Response.ok(responseDTO).build();
+        } catch (TooManyRequestsException e) {
+            LOG.warnf("Login rejected for: %s", request.getEmail());
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             LOG.errorf(e, "Error in login for: %s", request.getEmail());
             APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.UNAUTHORIZED.getStatusCode());
@@ -90,6 +112,35 @@ public class AuthController {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(responseDTO)
                     .build();
+        } finally {
+            loginRateLimitService.release();
+        }
+    }
+
+    /**
+     * Endpoint for refreshing the access token with a refresh token
+     */
+    @POST
+    @Path("/refresh")
+    @PermitAll
+    public Response refresh(@Valid RefreshRequestDTO request) {
+        LOG.info("Refresh token request");
+        try {
+            AuthResponseDTO response = authService.refresh(request.getRefreshToken());
+            APIResponseDTO<AuthResponseDTO> responseDTO = APIResponseDTO.success("Token refreshed", response, Response.Status.OK.getStatusCode());
+            return Response.ok(responseDTO).build();
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Error refreshing token");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.UNAUTHORIZED.getStatusCode());
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(responseDTO)
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Internal server error refreshing token");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error("Internal server error", Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(responseDTO)
+                    .build();
         }
     }
 
@@ -120,4 +171,19 @@ public class AuthController {
                     .build();
         }
     }
+
+    private Response tooManyRequests(TooManyRequestsException e) {
+        APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.TOO_MANY_REQUESTS.getStatusCode());
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header("Retry-After", e.getRetryAfterSeconds())
+                .entity(responseDTO)
+                .build();
+    }
+
+    private String getClientAddress(HttpServerRequest httpRequest) {
+        if (httpRequest == null || httpRequest.remoteAddress() == null) {
+            return null;
+        }
+        return httpRequest.remoteAddress().hostAddress();
+    }
 }
\ No newline at end of file
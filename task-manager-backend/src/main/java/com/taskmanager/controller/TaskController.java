@@ -1,29 +1,57 @@
 package com.taskmanager.controller;
 
+import java.time.Instant;
 import java.util.List;
 
+import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 import com.taskmanager.dto.APIResponseDTO;
-import com.taskmanager.model.Task;
-import com.taskmanager.model.User;
+import com.taskmanager.dto.TaskBatchOperationDTO;
+import com.taskmanager.dto.TaskBatchResultDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskEventDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.dto.TaskQueryDTO;
+import com.taskmanager.exception.PreconditionFailedException;
+import com.taskmanager.model.task.Task;
+import com.taskmanager.service.ITaskEventService;
+import com.taskmanager.service.ITaskExportService;
 import com.taskmanager.service.ITaskService;
+import com.taskmanager.service.IUserIdentityService;
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskETag;
+import com.taskmanager.utils.TaskFilter;
 
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.ws.rs.BeanParam;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 
 @Path("/rest/api/v1/tasks")
 @Produces(MediaType.APPLICATION_JSON)
@@ -31,9 +59,24 @@ import jakarta.ws.rs.core.SecurityContext;
 public class TaskController {
     private static final Logger LOG = Logger.getLogger(TaskController.class);
 
+    static final String NDJSON = "application/x-ndjson";
+
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    static final int MAX_BATCH_SIZE = 1000;
+
     @Inject
     private ITaskService taskService;
 
+    @Inject
+    private ITaskExportService taskExportService;
+
+    @Inject
+    private ITaskEventService taskEventService;
+
+    @Inject
+    private IUserIdentityService userIdentityService;
+
     /**
      * Endpoint for create task
      */
@@ -41,12 +84,9 @@ public class TaskController {
     @RolesAllowed("user")
     public Response createTask(@Context SecurityContext securityContext, @Valid Task task) {
         try {
-            String userEmail = securityContext.getUserPrincipal().getName();
-            LOG.infof("Request to create a new task for user: %s", userEmail);
-            User user = new User();
-            user.setEmail(userEmail);
-            task.setUser(user);
-            Task createdTask = taskService.create(task);
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to create a new task for user id: %d", userId);
+            Task createdTask = taskService.createForUser(userId, task);
             APIResponseDTO<Task> responseDTO = APIResponseDTO.success("Task created successfully", createdTask, Response.Status.CREATED.getStatusCode());
             return Response.status(Response.Status.CREATED)
                     .entity(responseDTO)
@@ -68,22 +108,26 @@ public class TaskController {
     }
 
     /**
-     * Endpoint for update task
+     * Endpoint for update task; If-Match opcional (412 si no coincide)
      */
     @PUT
     @RolesAllowed("user")
-    public Response updateTask(@Context SecurityContext securityContext, @Valid Task task) {
+    public Response updateTask(@Context SecurityContext securityContext, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+            @Valid Task task) {
         try {
-            String userEmail = securityContext.getUserPrincipal().getName();
-            LOG.infof("Request to update task with id: %d for user: %s", task.getId(), userEmail);
-            User user = new User();
-            user.setEmail(userEmail);
-            task.setUser(user);
-            Task updatedTask = taskService.update(task);
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to update task with id: %d for user id: %d", task.getId(), userId);
+            Task updatedTask = taskService.updateForUser(userId, task, TaskETag.parseIfMatch(ifMatch, userId));
             APIResponseDTO<Task> responseDTO = APIResponseDTO.success("Task updated successfully", updatedTask, Response.Status.OK.getStatusCode());
             return Response.status(Response.Status.OK)
                     .entity(responseDTO)
                     .build();
+        } catch (PreconditionFailedException e) {
+            LOG.warnf("Precondition failed %s: %s", "updating task", e.getMessage());
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.PRECONDITION_FAILED.getStatusCode());
+            return Response.status(Response.Status.PRECONDITION_FAILED)
+                    .entity(responseDTO)
+                    .build();
         } catch (IllegalArgumentException e) {
             LOG.errorf(e, "Error updating task");
             APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.NOT_FOUND.getStatusCode());
@@ -100,18 +144,87 @@ public class TaskController {
     }
 
     /**
-     * Endpoint for get all tasks for the authenticated user
+     * Endpoint for partially update a task (JSON merge-patch); only the fields sent are written.
+     * If-Match opcional (412 si no coincide)
+     */
+    @PATCH
+    @Path("/{id}")
+    @Consumes({TaskController.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON})
+    @RolesAllowed("user")
+    public Response patchTask(@Context SecurityContext securityContext, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+            @PathParam("id") Long id, @NotNull @Valid TaskPatchDTO patch) {
+        if (!patch.hasChanges()) {
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error("The patch must contain at least one field", Response.Status.BAD_REQUEST.getStatusCode());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(responseDTO)
+                    .build();
+        }
+
+        try {
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to patch task with id: %d for user id: %d", id, userId);
+            taskService.patchForUser(userId, id, patch, TaskETag.parseIfMatch(ifMatch, userId));
+            APIResponseDTO<String> responseDTO = APIResponseDTO.success("Task updated successfully", null, Response.Status.OK.getStatusCode());
+            return Response.status(Response.Status.OK)
+                    .entity(responseDTO)
+                    .build();
+        } catch (PreconditionFailedException e) {
+            LOG.warnf("Precondition failed %s: %s", "patching task", e.getMessage());
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.PRECONDITION_FAILED.getStatusCode());
+            return Response.status(Response.Status.PRECONDITION_FAILED)
+                    .entity(responseDTO)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            LOG.errorf(e, "Error patching task");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.NOT_FOUND.getStatusCode());
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(responseDTO)
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Error patching task");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error("Internal server error", Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(responseDTO)
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint for get a page of tasks for the authenticated user (keyset por created_at, id),
+     * filtrada y ordenada en la BD. Con If-None-Match igual a la versión actual responde 304 sin leer tareas
      */
     @GET
     @RolesAllowed("user")
-    public Response getAllTasks(@Context SecurityContext securityContext) {
+    public Response getAllTasks(@Context SecurityContext securityContext, @Context Request request,
+            @Valid @BeanParam TaskQueryDTO query) {
+        TaskFilter filter;
+        TaskCursor after;
+        try {
+            filter = query.toFilter();
+            after = query.toCursor();
+        } catch (IllegalArgumentException e) {
+            LOG.warnf("Invalid task query: %s", e.getMessage());
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.BAD_REQUEST.getStatusCode());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(responseDTO)
+                    .build();
+        }
+
         try {
-            String userEmail = securityContext.getUserPrincipal().getName();
-            LOG.infof("Request to get all tasks for user: %s", userEmail);
-            List<Task> tasks = taskService.findAllByUser(userEmail);
-            APIResponseDTO<List<Task>> responseDTO = APIResponseDTO.success("Tasks retrieved successfully", tasks, Response.Status.OK.getStatusCode());
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to get tasks for user id: %d", userId);
+            long version = taskService.getTaskVersion(userId);
+            EntityTag etag = TaskETag.of(userId, version);
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.cacheControl(revalidate()).build();
+            }
+            TaskPageDTO page = taskService.findPageByUser(userId, version, filter, after, query.getLimit());
+            APIResponseDTO<TaskPageDTO> responseDTO = APIResponseDTO.success("Tasks retrieved successfully", page, Response.Status.OK.getStatusCode());
             return Response.status(Response.Status.OK)
                     .entity(responseDTO)
+                    .tag(etag)
+                    .cacheControl(revalidate())
                     .build();
         } catch (IllegalArgumentException e) {
             LOG.errorf(e, "Error getting tasks");
@@ -129,19 +242,113 @@ public class TaskController {
     }
 
     /**
-     * Endpoint for get task by id and user email
+     * Endpoint for apply several create/update/delete operations in one transaction, with one result per operation
+     */
+    @POST
+    @Path("/batch")
+    @RolesAllowed("user")
+    public Response batchTasks(@Context SecurityContext securityContext,
+            @NotNull @Size(min = 1, max = MAX_BATCH_SIZE, message = "A batch must contain between 1 and " + MAX_BATCH_SIZE + " operations")
+            List<@Valid @NotNull TaskBatchOperationDTO> operations) {
+        try {
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to apply %d task operations for user id: %d", operations.size(), userId);
+            List<TaskBatchResultDTO> results = taskService.applyBatch(userId, operations);
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            String message = String.format("Batch processed: %d succeeded, %d failed", results.size() - failed, failed);
+            APIResponseDTO<List<TaskBatchResultDTO>> responseDTO = APIResponseDTO.success(message, results, Response.Status.OK.getStatusCode());
+            return Response.status(Response.Status.OK)
+                    .entity(responseDTO)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            LOG.errorf(e, "Error applying task batch");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.NOT_FOUND.getStatusCode());
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(responseDTO)
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Error applying task batch");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error("Internal server error", Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(responseDTO)
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint for export all tasks of the authenticated user as NDJSON, streamed from a database cursor
+     */
+    @GET
+    @Path("/export")
+    @Produces(TaskController.NDJSON)
+    @RolesAllowed("user")
+    public Response exportTasks(@Context SecurityContext securityContext) {
+        try {
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to export tasks for user id: %d", userId);
+            StreamingOutput export = taskExportService.exportByUser(userId);
+            return Response.ok(export, NDJSON)
+                    .header("Content-Disposition", "attachment; filename=\"tasks.ndjson\"")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            LOG.errorf(e, "Error exporting tasks");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.NOT_FOUND.getStatusCode());
+            return Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(responseDTO)
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Error exporting tasks");
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error("Internal server error", Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(responseDTO)
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint for stream the task changes of the authenticated user as Server-Sent Events, en lugar de
+     * releer la lista periódicamente. Bloqueante solo para resolver el usuario; los eventos se envían sin hilo propio.
+     * El stream termina cuando caduca el access token con el que se abrió; el cliente reconecta con uno renovado
+     */
+    @GET
+    @Path("/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @RolesAllowed("user")
+    @Blocking
+    public Multi<TaskEventDTO> streamTaskEvents(@Context SecurityContext securityContext) {
+        Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+        LOG.infof("Request to stream task events for user id: %d", userId);
+        Instant expiresAt = securityContext.getUserPrincipal() instanceof JsonWebToken jwt
+                ? Instant.ofEpochSecond(jwt.getExpirationTime())
+                : Instant.now();
+        return taskEventService.subscribe(userId, expiresAt);
+    }
+
+    /**
+     * Endpoint for get task by id for the authenticated user, con el mismo ETag que la lista
      */
     @GET
     @Path("/{id}")
     @RolesAllowed("user")
-    public Response getTaskById(@Context SecurityContext securityContext, @PathParam("id") Long id) {
+    public Response getTaskById(@Context SecurityContext securityContext, @Context Request request, @PathParam("id") Long id) {
         try {
-            String userEmail = securityContext.getUserPrincipal().getName();
-            LOG.infof("Request to get task with id: %d for user: %s", id, userEmail);
-            Task task = taskService.findByIdAndUserEmail(id, userEmail);
-            APIResponseDTO<Task> responseDTO = APIResponseDTO.success("Task retrieved successfully", task, Response.Status.OK.getStatusCode());
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to get task with id: %d for user id: %d", id, userId);
+            long version = taskService.getTaskVersion(userId);
+            EntityTag etag = TaskETag.of(userId, version);
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.cacheControl(revalidate()).build();
+            }
+            TaskDTO task = taskService.findByIdAndUser(id, userId, version);
+            APIResponseDTO<TaskDTO> responseDTO = APIResponseDTO.success("Task retrieved successfully", task, Response.Status.OK.getStatusCode());
             return Response.status(Response.Status.OK)
                     .entity(responseDTO)
+                    .tag(etag)
+                    .cacheControl(revalidate())
                     .build();
         } catch (IllegalArgumentException e) {
             LOG.errorf(e, "Error getting task");
@@ -159,20 +366,27 @@ public class TaskController {
     }
 
     /**
-     * Endpoint for delete task by id and user email
+     * Endpoint for delete task by id for the authenticated user; If-Match opcional (412 si no coincide)
      */
     @DELETE
     @Path("/{id}")
     @RolesAllowed("user")
-    public Response deleteTaskById(@Context SecurityContext securityContext, @PathParam("id") Long id) {
+    public Response deleteTaskById(@Context SecurityContext securityContext, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+            @PathParam("id") Long id) {
         try {
-            String userEmail = securityContext.getUserPrincipal().getName();
-            LOG.infof("Request to delete task with id: %d for user: %s", id, userEmail);
-            taskService.deleteByIdAndUserEmail(id, userEmail);
+            Long userId = userIdentityService.resolveUserId(securityContext.getUserPrincipal());
+            LOG.infof("Request to delete task with id: %d for user id: %d", id, userId);
+            taskService.deleteByIdAndUser(id, userId, TaskETag.parseIfMatch(ifMatch, userId));
             APIResponseDTO<String> responseDTO = APIResponseDTO.success("Task deleted successfully", null, Response.Status.OK.getStatusCode());
             return Response.status(Response.Status.OK)
                     .entity(responseDTO)
                     .build();
+        } catch (PreconditionFailedException e) {
+            LOG.warnf("Precondition failed %s: %s", "deleting task", e.getMessage());
+            APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.PRECONDITION_FAILED.getStatusCode());
+            return Response.status(Response.Status.PRECONDITION_FAILED)
+                    .entity(responseDTO)
+                    .build();
         } catch (IllegalArgumentException e) {
             LOG.errorf(e, "Error deleting task");
             APIResponseDTO<String> responseDTO = APIResponseDTO.error(e.getMessage(), Response.Status.NOT_FOUND.getStatusCode());
@@ -187,4 +401,16 @@ public class TaskController {
                     .build();
         }
     }
+
+    /**
+     * El cliente puede guardar la respuesta pero debe revalidarla con If-None-Match en cada uso;
+     * la versión se lee antes que las tareas (y es la que indexa la cache de tareas), así que un ETag nunca es
+     * más nuevo que su contenido
+     */
+    private static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
 }
\ No newline at end of file
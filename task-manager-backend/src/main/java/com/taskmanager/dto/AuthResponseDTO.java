@@ -10,11 +10,15 @@ public class AuthResponseDTO {
     @JsonProperty("access_token")
     private final String accessToken;
 
+    @JsonProperty("refresh_token")
+    private final String refreshToken;
+
     @JsonProperty("message")
     private final String message;
 
-    public AuthResponseDTO(String accessToken, String message) {
+    public AuthResponseDTO(String accessToken, String refreshToken, String message) {
         this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
         this.message = message;
     }
 
@@ -22,6 +26,10 @@ public class AuthResponseDTO {
         return this.accessToken;
     }
 
+    public String getRefreshToken() {
+        return this.refreshToken;
+    }
+
     public String getMessage() {
         return this.message;
     }
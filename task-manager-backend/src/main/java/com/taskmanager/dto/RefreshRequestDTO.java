@@ -0,0 +1,29 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.constraints.NotBlank;
+
+@RegisterForReflection
+public class RefreshRequestDTO {
+
+    @NotBlank(message = "Refresh token is required")
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+
+    public RefreshRequestDTO() {}
+
+    public RefreshRequestDTO(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Getters y Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
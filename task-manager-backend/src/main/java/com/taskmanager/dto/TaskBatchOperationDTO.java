@@ -0,0 +1,80 @@
+package com.taskmanager.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Una operación de POST /rest/api/v1/tasks/batch. create usa title/description; update aplica
+ * solo los campos no nulos de la tarea id; delete solo necesita id
+ */
+@RegisterForReflection
+public class TaskBatchOperationDTO {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String DELETE = "delete";
+
+    @NotNull(message = "Operation is required")
+    @Pattern(regexp = "create|update|delete", message = "Operation must be create, update or delete")
+    private String op;
+
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private Boolean completed;
+
+    public TaskBatchOperationDTO() {}
+
+    public TaskBatchOperationDTO(String op, Long id, String title, String description, Boolean completed) {
+        this.op = op;
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+    }
+
+    // Getters y Setters
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+}
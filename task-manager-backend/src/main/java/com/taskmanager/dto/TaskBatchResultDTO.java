@@ -0,0 +1,64 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class TaskBatchResultDTO {
+
+    @JsonProperty("index")
+    private final int index;
+
+    @JsonProperty("op")
+    private final String op;
+
+    @JsonProperty("id")
+    private final Long id;
+
+    @JsonProperty("status")
+    private final int status;
+
+    @JsonProperty("message")
+    private final String message;
+
+    public TaskBatchResultDTO(int index, String op, Long id, int status, String message) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static TaskBatchResultDTO success(int index, String op, Long id, int status) {
+        return new TaskBatchResultDTO(index, op, id, status, null);
+    }
+
+    public static TaskBatchResultDTO error(int index, String op, Long id, int status, String message) {
+        return new TaskBatchResultDTO(index, op, id, status, message);
+    }
+
+    public boolean isSuccess() {
+        return this.status < 400;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public String getOp() {
+        return this.op;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+}
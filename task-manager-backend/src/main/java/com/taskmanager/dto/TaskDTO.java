@@ -0,0 +1,57 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Proyección de solo lectura de una tarea para la lista y el detalle: se selecciona únicamente
+ * las columnas de tbl_task y no se crea ninguna entidad gestionada. TaskRepository la construye con
+ * una proyección de constructor en HQL (select new), ejecutada a través de ReadRoutingService en el
+ * primario o en la réplica; el orden de los argumentos debe coincidir con el del constructor
+ */
+@RegisterForReflection
+public class TaskDTO {
+
+    private final Long id;
+
+    private final String title;
+
+    private final String description;
+
+    private final Boolean completed;
+
+    // Solo para el cursor de keyset; no forma parte de la respuesta
+    @JsonIgnore
+    private final LocalDateTime createdAt;
+
+    public TaskDTO(Long id, String title, String description, Boolean completed, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public Boolean getCompleted() {
+        return this.completed;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+}
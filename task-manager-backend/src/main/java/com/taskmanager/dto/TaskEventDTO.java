@@ -0,0 +1,45 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Evento del stream SSE de tareas: solo el tipo y el id, el cliente relee la tarea si la necesita.
+ * El heartbeat no lleva id
+ */
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDTO {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String HEARTBEAT = "heartbeat";
+
+    private static final TaskEventDTO HEARTBEAT_EVENT = new TaskEventDTO(HEARTBEAT, null);
+
+    @JsonProperty("type")
+    private final String type;
+
+    @JsonProperty("id")
+    private final Long id;
+
+    public TaskEventDTO(String type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static TaskEventDTO heartbeat() {
+        return HEARTBEAT_EVENT;
+    }
+
+    public String getType() {
+        return this.type;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+}
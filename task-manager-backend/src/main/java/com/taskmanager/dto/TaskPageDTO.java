@@ -0,0 +1,30 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class TaskPageDTO {
+
+    @JsonProperty("items")
+    private final List<TaskDTO> items;
+
+    @JsonProperty("next_cursor")
+    private final String nextCursor;
+
+    public TaskPageDTO(List<TaskDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskDTO> getItems() {
+        return this.items;
+    }
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Cuerpo merge-patch de PATCH /rest/api/v1/tasks/{id}: solo se escriben los campos presentes.
+ * Todos los campos de la tarea son obligatorios, así que un null se trata como "sin cambios"
+ */
+@RegisterForReflection
+public class TaskPatchDTO {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "The title is mandatory")
+    @Size(min = 2, max = 100, message = "The title must be between 2 and 200 characters")
+    private String title;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "The description is mandatory")
+    @Size(min = 2, max = 1000, message = "The description must be between 2 and 1000 characters")
+    private String description;
+
+    private Boolean completed;
+
+    public TaskPatchDTO() {}
+
+    public TaskPatchDTO(String title, String description, Boolean completed) {
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+    }
+
+    public boolean hasChanges() {
+        return title != null || description != null || completed != null;
+    }
+
+    // Getters y Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,152 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.QueryParam;
+
+/**
+ * Query params de GET /rest/api/v1/tasks
+ */
+@RegisterForReflection
+public class TaskQueryDTO {
+
+    @QueryParam("limit")
+    @DefaultValue("50")
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 200, message = "Limit must be at most 200")
+    private int limit;
+
+    @QueryParam("cursor")
+    private String cursor;
+
+    @QueryParam("completed")
+    private Boolean completed;
+
+    @QueryParam("created_from")
+    private String createdFrom;
+
+    @QueryParam("created_to")
+    private String createdTo;
+
+    @QueryParam("updated_from")
+    private String updatedFrom;
+
+    @QueryParam("updated_to")
+    private String updatedTo;
+
+    @QueryParam("sort")
+    @DefaultValue("asc")
+    @Pattern(regexp = "asc|desc", message = "Sort must be asc or desc")
+    private String sort;
+
+    public TaskQueryDTO() {}
+
+    /**
+     * Convierte los parámetros en el filtro tipado; lanza IllegalArgumentException si una fecha no es ISO-8601
+     */
+    public TaskFilter toFilter() {
+        return new TaskFilter(completed,
+                parseDate("created_from", createdFrom),
+                parseDate("created_to", createdTo),
+                parseDate("updated_from", updatedFrom),
+                parseDate("updated_to", updatedTo),
+                "desc".equals(sort));
+    }
+
+    /**
+     * Decodifica el cursor; lanza IllegalArgumentException si no es válido o si se emitió para el otro orden,
+     * porque el keyset se compara en la dirección del orden y devolvería las filas equivocadas
+     */
+    public TaskCursor toCursor() {
+        TaskCursor decoded = TaskCursor.decode(cursor);
+        if (decoded != null && decoded.isDescending() != "desc".equals(sort)) {
+            throw new IllegalArgumentException("The cursor was issued for sort=" + (decoded.isDescending() ? "desc" : "asc"));
+        }
+        return decoded;
+    }
+
+    private static LocalDateTime parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for " + name + ": " + value, e);
+        }
+    }
+
+    // Getters y Setters
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(String createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public String getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(String createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public String getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public void setUpdatedFrom(String updatedFrom) {
+        this.updatedFrom = updatedFrom;
+    }
+
+    public String getUpdatedTo() {
+        return updatedTo;
+    }
+
+    public void setUpdatedTo(String updatedTo) {
+        this.updatedTo = updatedTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Columnas de tbl_user que deciden si un usuario puede autenticarse: hash de la contraseña, estado y
+ * epoch de tokens. UserRepository las lee con una proyección de constructor en HQL (select new) contra
+ * la BD, nunca desde la cache de segundo nivel de User, que es local a cada instancia; el orden de los
+ * argumentos debe coincidir con el del constructor
+ */
+@RegisterForReflection
+public class UserCredentialsDTO {
+
+    private final String password;
+
+    private final Boolean active;
+
+    private final Long tokenEpoch;
+
+    public UserCredentialsDTO(String password, Boolean active, Long tokenEpoch) {
+        this.password = password;
+        this.active = active;
+        this.tokenEpoch = tokenEpoch;
+    }
+
+    public String getPassword() {
+        return this.password;
+    }
+
+    public Boolean getActive() {
+        return this.active;
+    }
+
+    public Long getTokenEpoch() {
+        return this.tokenEpoch;
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.exception;
+
+/**
+ * El If-Match recibido ya no corresponde a la versión actual; el controlador lo traduce a 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.exception;
+
+/**
+ * Rechazo por límite de tasa o de concurrencia; el controlador lo traduce a 429.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return this.retryAfterSeconds;
+    }
+}
@@ -1,4 +1,4 @@
-package com.taskmanager.model;
+package com.taskmanager.model.task;
 
 import java.time.LocalDateTime;
 
@@ -11,20 +11,29 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "tbl_task")
+@Table(name = "tbl_task", indexes = {
+    // Keyset de la paginación de tareas por usuario y filtros de la lista
+    @Index(name = "idx_task_user_created_at", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_task_user_completed_created_at", columnList = "user_id, completed, created_at, id"),
+    @Index(name = "idx_task_user_updated_at", columnList = "user_id, updated_at")
+})
 @RegisterForReflection
 public class Task extends PanacheEntityBase {
     
+    // Secuencia con pooled optimizer (tabla tbl_task_seq en MySQL): a diferencia de IDENTITY
+    // permite a Hibernate agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tbl_task_seq", allocationSize = 50)
     public Long id;
 
     @NotBlank(message = "The title is mandatory")
@@ -48,19 +57,22 @@ public class Task extends PanacheEntityBase {
     @Column(nullable = false, name = "completed")
     public Boolean completed;
 
-    @ManyToOne(optional = false)
-    public User user;
+    // Id del dueño sin asociación a User: las tareas viven en la unidad de persistencia "tasks",
+    // repartida por usuario entre shards que no tienen tbl_user
+    @JsonIgnore
+    @Column(nullable = false, name = "user_id")
+    public Long userId;
 
     // Constructores
     public Task() {
         this.completed = false;
     }
 
-    public Task(String title, String description, User user) {
+    public Task(String title, String description, Long userId) {
         this.title = title;
         this.description = description;
         this.completed = false;
-        this.user = user;
+        this.userId = userId;
     }
 
     @PrePersist
@@ -118,12 +130,12 @@ public class Task extends PanacheEntityBase {
         this.completed = completed;
     }
 
-    public User getUser() {
-        return this.user;
+    public Long getUserId() {
+        return this.userId;
     }
 
-    public void setUser(User user) {
-        this.user = user;
+    public void setUserId(Long userId) {
+        this.userId = userId;
     }
 
     @Override
@@ -135,7 +147,7 @@ public class Task extends PanacheEntityBase {
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 ", completed=" + completed +
-                ", user=" + (user != null ? user.getEmail() : "null") +
+                ", userId=" + userId +
                 "}";
     }
 }
\ No newline at end of file
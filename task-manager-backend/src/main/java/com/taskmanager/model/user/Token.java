@@ -0,0 +1,111 @@
+package com.taskmanager.model.user;
+
+import java.time.LocalDateTime;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "tbl_token", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_token_access_token_hash", columnNames = "access_token_hash"),
+    @UniqueConstraint(name = "uk_token_refresh_token_hash", columnNames = "refresh_token_hash")
+}, indexes = {
+    @Index(name = "idx_token_user_logged_out", columnList = "user_id, logged_out")
+})
+public class Token extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // SHA-256 del JWT; el token en claro no se almacena
+    @Column(nullable = false, name = "access_token_hash", columnDefinition = "BINARY(32)")
+    private byte[] accessTokenHash;
+
+    // SHA-256 del refresh token opaco; se rota en cada uso
+    @Column(nullable = true, name = "refresh_token_hash", columnDefinition = "BINARY(32)")
+    private byte[] refreshTokenHash;
+
+    @Column(nullable = false, name = "logged_out")
+    private boolean loggedOut;
+
+    @Column(nullable = true, name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Epoch del usuario al emitirse; con revocación por epoch un login o logout posterior lo deja obsoleto
+    @Column(nullable = true, name = "token_epoch")
+    private Long tokenEpoch;
+
+    @ManyToOne(optional = false)
+    private User user;
+
+    // Getters and Setters
+    public Long getId() {
+        return this.id;
+    }
+
+    public byte[] getAccessTokenHash() {
+        return this.accessTokenHash;
+    }
+
+    public void setAccessTokenHash(byte[] accessTokenHash) {
+        this.accessTokenHash = accessTokenHash;
+    }
+
+    public byte[] getRefreshTokenHash() {
+        return this.refreshTokenHash;
+    }
+    
+    public void setRefreshTokenHash(byte[] refreshTokenHash) {
+        this.refreshTokenHash = refreshTokenHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public Long getTokenEpoch() {
+        return this.tokenEpoch;
+    }
+
+    public void setTokenEpoch(Long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
+    public User getUser() {
+        return this.user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    // Bussiness methods
+    public boolean isValid() {
+        return !this.loggedOut;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.loggedOut = false;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    @Override
+    public String toString() {
+        return "Token{" +
+                "id=" + id +
+                ", loggedOut=" + loggedOut +
+                ", usuario=" + (user != null ? user.getEmail() : "null") +
+                '}';
+    }
+}
\ No newline at end of file
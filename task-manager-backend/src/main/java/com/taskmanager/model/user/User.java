@@ -1,13 +1,17 @@
-package com.taskmanager.model;
+package com.taskmanager.model.user;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,12 +23,20 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+// En la cache de segundo nivel (entidad y natural id por email): las filas casi no cambian y
+// findByEmail se ejecuta en login, logout y refresh. La cache es local a cada instancia, así que
+// contraseña, estado y epoch se leen de la BD (UserRepository.findCredentialsById) al autenticar
 @Entity
-@Table(name = "tbl_user")
+@Cacheable
+@NaturalIdCache
+@Table(name = "tbl_user", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_email", columnNames = "email")
+})
 @RegisterForReflection
 public class User extends PanacheEntityBase {
 
@@ -40,6 +52,7 @@ public class User extends PanacheEntityBase {
 
     @NotBlank(message = "The email is mandatory")
     @Email(message = "The email must be valid")
+    @NaturalId
     @Column(nullable = false, name = "email", length = 100)
     private String email;
 
@@ -56,16 +69,29 @@ public class User extends PanacheEntityBase {
     @Column(nullable = false, name = "active")
     private Boolean active;
 
+    // Se incrementa en cada login/logout; los JWT con un epoch anterior quedan revocados
     @JsonIgnore
-    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    private List<Token> tokens;
+    @Column(nullable = false, name = "token_epoch")
+    private Long tokenEpoch;
+
+    // Se incrementa en cada escritura de tareas del usuario; es el ETag de GET /tasks
+    @JsonIgnore
+    @Column(nullable = false, name = "task_version")
+    private Long taskVersion;
+
+    // Datasource (shard) donde viven sus tareas; null hasta la primera escritura de tareas
+    @JsonIgnore
+    @Column(nullable = true, name = "task_shard", length = 64)
+    private String taskShard;
 
     @JsonIgnore
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    private List<Task> tasks;
+    private List<Token> tokens;
 
     public User() {
         this.active = true;
+        this.tokenEpoch = 0L;
+        this.taskVersion = 0L;
     }
 
     public User(String name, String email, String password) {
@@ -73,6 +99,8 @@ public class User extends PanacheEntityBase {
         this.email = email;
         this.password = password;
         this.active = true;
+        this.tokenEpoch = 0L;
+        this.taskVersion = 0L;
     }
 
     @PrePersist
@@ -134,20 +162,36 @@ public class User extends PanacheEntityBase {
         this.active = active;
     }
 
-    public List<Token> getTokens() {
-        return this.tokens;
+    public Long getTokenEpoch() {
+        return this.tokenEpoch;
     }
 
-    public void setTokens(List<Token> tokens) {
-        this.tokens = tokens;
+    public void setTokenEpoch(Long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
     }
 
-    public List<Task> getTasks() {
-        return this.tasks;
+    public Long getTaskVersion() {
+        return this.taskVersion;
     }
 
-    public void setTasks(List<Task> tasks) {
-        this.tasks = tasks;
+    public void setTaskVersion(Long taskVersion) {
+        this.taskVersion = taskVersion;
+    }
+
+    public String getTaskShard() {
+        return this.taskShard;
+    }
+
+    public void setTaskShard(String taskShard) {
+        this.taskShard = taskShard;
+    }
+
+    public List<Token> getTokens() {
+        return this.tokens;
+    }
+
+    public void setTokens(List<Token> tokens) {
+        this.tokens = tokens;
     }
 
     @Override
@@ -1,19 +1,165 @@
 package com.taskmanager.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import com.taskmanager.model.Task;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.SelectionQuery;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.model.task.Task;
+import com.taskmanager.service.IReadRoutingService;
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class TaskRepository implements PanacheRepository<Task> {
+    // Proyección de solo columnas de tbl_task; las lecturas de los GET se enrutan a la réplica
+    private static final String SELECT_TASK_DTO =
+            "select new com.taskmanager.dto.TaskDTO(t.id, t.title, t.description, t.completed, t.createdAt) from Task t";
+
+    @Inject
+    private IReadRoutingService readRoutingService;
+
+    /**
+     * Retrieve one task of a user as a projection, empty when it does not exist or has another owner
+     */
+    public Optional<TaskDTO> findByIdAndUserId(Long id, Long userId) {
+        return readRoutingService.read(userId, getSession(), session -> session
+                .createSelectionQuery(SELECT_TASK_DTO + " where t.id = :id and t.userId = :userId", TaskDTO.class)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .uniqueResultOptional());
+    }
+
+    /**
+     * Retrieve one task entity of a user from the primary, empty when it does not exist or has another owner.
+     * Used to re-read a row right after a bulk UPDATE in the same transaction
+     */
+    public Optional<Task> findEntityByIdAndUserId(Long id, Long userId) {
+        return find("id = :id and userId = :userId", Parameters.with("id", id).and("userId", userId))
+                .firstResultOptional();
+    }
+
     /**
-     * Retrieve all tasks by user id
+     * Retrieve the tasks with the given ids that belong to a user, in a single query
      */
+    public List<Task> findByIdsAndUserId(Collection<Long> ids, Long userId) {
+        return list("id in :ids and userId = :userId", Parameters.with("ids", ids).and("userId", userId));
+    }
 
-    public List<Task> findByUserId(Long userId) {
-        return list("user.id", userId);
+    /**
+     * Replace title and description of a task only if it belongs to the user, in a single UPDATE.
+     * Returns the number of rows matched (0 when the task does not exist or has another owner).
+     */
+    public int updateContentByIdAndUserId(Long id, Long userId, String title, String description, LocalDateTime updatedAt) {
+        return update("title = :title, description = :description, updatedAt = :updatedAt where id = :id and userId = :userId",
+                Parameters.with("title", title)
+                        .and("description", description)
+                        .and("updatedAt", updatedAt)
+                        .and("id", id)
+                        .and("userId", userId));
+    }
+
+    /**
+     * Write only the non-null fields of a patch to a task owned by the user, in a single UPDATE.
+     * Returns the number of rows matched (0 when the task does not exist or has another owner).
+     */
+    public int patchByIdAndUserId(Long id, Long userId, TaskPatchDTO patch, LocalDateTime updatedAt) {
+        StringBuilder query = new StringBuilder("updatedAt = :updatedAt");
+        Parameters params = Parameters.with("updatedAt", updatedAt);
+
+        if (patch.getTitle() != null) {
+            query.append(", title = :title");
+            params.and("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            query.append(", description = :description");
+            params.and("description", patch.getDescription());
+        }
+        if (patch.getCompleted() != null) {
+            query.append(", completed = :completed");
+            params.and("completed", patch.getCompleted());
+        }
+
+        query.append(" where id = :id and userId = :userId");
+        return update(query.toString(), params.and("id", id).and("userId", userId));
+    }
+
+    /**
+     * Delete a task only if it belongs to the user, in a single DELETE.
+     * Returns the number of rows deleted (0 when the task does not exist or has another owner).
+     */
+    public long deleteByIdAndUserId(Long id, Long userId) {
+        return delete("id = :id and userId = :userId", Parameters.with("id", id).and("userId", userId));
+    }
+
+    /**
+     * Retrieve up to limit task projections of a user matching the filter after the cursor, ordered by (createdAt, id).
+     * Served by idx_task_user_created_at, or idx_task_user_completed_created_at when filtering by completed.
+     */
+    public List<TaskDTO> findPageByUserId(Long userId, TaskFilter filter, TaskCursor after, int limit) {
+        StringBuilder query = new StringBuilder(SELECT_TASK_DTO).append(" where t.userId = :userId");
+        Parameters params = Parameters.with("userId", userId);
+
+        if (filter.getCompleted() != null) {
+            query.append(" and t.completed = :completed");
+            params.and("completed", filter.getCompleted());
+        }
+        if (filter.getCreatedFrom() != null) {
+            query.append(" and t.createdAt >= :createdFrom");
+            params.and("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            query.append(" and t.createdAt < :createdTo");
+            params.and("createdTo", filter.getCreatedTo());
+        }
+        if (filter.getUpdatedFrom() != null) {
+            query.append(" and t.updatedAt >= :updatedFrom");
+            params.and("updatedFrom", filter.getUpdatedFrom());
+        }
+        if (filter.getUpdatedTo() != null) {
+            query.append(" and t.updatedAt < :updatedTo");
+            params.and("updatedTo", filter.getUpdatedTo());
+        }
+
+        // Keyset en la dirección del orden
+        String operator = filter.isDescending() ? "<" : ">";
+        if (after != null) {
+            query.append(" and (t.createdAt ").append(operator).append(" :afterCreatedAt")
+                    .append(" or (t.createdAt = :afterCreatedAt and t.id ").append(operator).append(" :afterId))");
+            params.and("afterCreatedAt", after.getCreatedAt()).and("afterId", after.getId());
+        }
+
+        String direction = filter.isDescending() ? "desc" : "asc";
+        query.append(" order by t.createdAt ").append(direction).append(", t.id ").append(direction);
+        return readRoutingService.read(userId, getSession(), session -> {
+            SelectionQuery<TaskDTO> select = session.createSelectionQuery(query.toString(), TaskDTO.class)
+                    .setMaxResults(limit);
+            params.map().forEach(select::setParameter);
+            return select.getResultList();
+        });
+    }
+
+    /**
+     * Stream all tasks of a user in (createdAt, id) order through a forward-only cursor.
+     * Entities are loaded read-only and the JDBC driver fetches fetchSize rows at a time.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    public Stream<Task> streamByUserId(Long userId, int fetchSize) {
+        return find("userId", Sort.by("createdAt").and("id"), userId)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import com.taskmanager.model.task.Task;
+
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Access to the tasks of one user in a given shard, independent of the shard bound to the current
+ * transaction. Used to move users between shards; every method opens its own stateless session on the
+ * shard, enlisted in the current transaction.
+ */
+@ApplicationScoped
+public class TaskShardRepository {
+    private static final String INSERT_TASK = "insert into tbl_task (id, title, description, created_at, updated_at, completed, user_id)"
+            + " values (?, ?, ?, ?, ?, ?, ?)";
+
+    @Inject
+    @PersistenceUnit("tasks")
+    private SessionFactory tasksSessionFactory;
+
+    /**
+     * Retrieve up to limit tasks of a user in a shard with an id greater than afterId, ordered by id.
+     */
+    public List<Task> findByUserIdAfter(String shard, Long userId, long afterId, int limit) {
+        try (StatelessSession session = open(shard)) {
+            return session.createSelectionQuery("from Task where userId = :userId and id > :afterId order by id", Task.class)
+                    .setParameter("userId", userId)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Insert tasks with their ids into a shard in a single JDBC batch (a multi-row INSERT with
+     * rewriteBatchedStatements).
+     */
+    public void insertAll(String shard, List<Task> tasks) {
+        try (StatelessSession session = open(shard)) {
+            session.doWork(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_TASK)) {
+                    for (Task task : tasks) {
+                        insert.setLong(1, task.getId());
+                        insert.setString(2, task.getTitle());
+                        insert.setString(3, task.getDescription());
+                        insert.setObject(4, task.getCreatedAt());
+                        insert.setObject(5, task.getUpdatedAt());
+                        insert.setObject(6, task.getCompleted());
+                        insert.setLong(7, task.getUserId());
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            });
+        }
+    }
+
+    /**
+     * Delete up to limit tasks of a user in a shard, lowest ids first. Returns the number of rows deleted.
+     */
+    public int deleteByUserId(String shard, Long userId, int limit) {
+        try (StatelessSession session = open(shard)) {
+            return session.createNativeMutationQuery("delete from tbl_task where user_id = :userId order by id limit :limit")
+                    .setParameter("userId", userId)
+                    .setParameter("limit", limit)
+                    .executeUpdate();
+        }
+    }
+
+    private StatelessSession open(String shard) {
+        // El tenant es Object en la API no deprecada, como en ReadRoutingServiceImpl
+        Object tenant = shard;
+        return tasksSessionFactory.withStatelessOptions().tenantIdentifier(tenant).openStatelessSession();
+    }
+}
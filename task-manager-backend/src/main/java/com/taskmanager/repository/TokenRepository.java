@@ -1,8 +1,10 @@
 package com.taskmanager.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-import com.taskmanager.model.Token;
+import com.taskmanager.model.user.Token;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
@@ -13,10 +15,17 @@ import jakarta.transaction.Transactional;
 public class TokenRepository implements PanacheRepository<Token> {
 
     /**
-     * Find a token by its access token string.
+     * Find a token by the SHA-256 hash of its access token.
      */
-    public Optional<Token> findByAccessToken(String accessToken) {
-        return find("accessToken", accessToken).firstResultOptional();
+    public Optional<Token> findByAccessTokenHash(byte[] accessTokenHash) {
+        return find("accessTokenHash", accessTokenHash).firstResultOptional();
+    }
+
+    /**
+     * Find a token by the SHA-256 hash of its refresh token.
+     */
+    public Optional<Token> findByRefreshTokenHash(byte[] refreshTokenHash) {
+        return find("refreshTokenHash", refreshTokenHash).firstResultOptional();
     }
 
     /**
@@ -27,4 +36,56 @@ public class TokenRepository implements PanacheRepository<Token> {
         return update("loggedOut = true where user.id = :userId and loggedOut = false",
                       Parameters.with("userId", userId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Find the next chunk of token ids issued before the cutoff, walking the primary key from the last purged id.
+     * Logged out rows are kept until then: a consumed refresh token must still be found to detect its reuse.
+     */
+    public List<Long> findPurgeableIds(Long afterId, LocalDateTime issuedBefore, int limit) {
+        return getEntityManager()
+                .createQuery("select t.id from Token t where t.id > :afterId"
+                        + " and t.createdAt < :issuedBefore order by t.id", Long.class)
+                .setParameter("afterId", afterId)
+                .setParameter("issuedBefore", issuedBefore)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Delete a chunk of tokens by id in its own short transaction.
+     */
+    @Transactional
+    public long deleteByIds(List<Long> ids) {
+        return delete("id in :ids", Parameters.with("ids", ids));
+    }
+
+    /**
+     * Store a new token in its own short transaction.
+     */
+    @Transactional
+    public void save(Token token) {
+        persist(token);
+    }
+
+    /**
+     * Invalidate the previous tokens of a user and store the new one in a single short transaction.
+     */
+    @Transactional
+    public void replaceTokensForUser(Long userId, Token token) {
+        invalidateAllTokensForUser(userId);
+        persist(token);
+    }
+
+    /**
+     * Consume a refresh token and store its replacement in a single short transaction.
+     * Returns false if the token was already consumed or revoked by a concurrent request.
+     */
+    @Transactional
+    public boolean rotateToken(Long tokenId, Token token) {
+        if (update("loggedOut = true where id = :id and loggedOut = false", Parameters.with("id", tokenId)) == 0) {
+            return false;
+        }
+        persist(token);
+        return true;
+    }
+}
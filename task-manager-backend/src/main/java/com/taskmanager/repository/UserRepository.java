@@ -1,22 +1,210 @@
 package com.taskmanager.repository;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
-import com.taskmanager.model.User;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import com.taskmanager.dto.UserCredentialsDTO;
+import com.taskmanager.model.user.User;
+import com.taskmanager.service.IReadRoutingService;
+import com.taskmanager.utils.TransactionUtils;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
-import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.persistence.Query;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
 
+    // Espacio de consulta que no usa ninguna entidad: un UPDATE nativo sincronizado con él no vacía
+    // ninguna región de la cache de segundo nivel (sin espacios Hibernate las vaciaría todas)
+    private static final String UNCACHED_QUERY_SPACE = "tbl_user_counters";
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    private IReadRoutingService readRoutingService;
+
     /**
-     * Find a user by their email.
+     * Find a user by their email through the natural id, served from the second-level cache when present.
      */
     public Optional<User> findByEmail(String email) {
-        return find("email", email).firstResultOptional();
+        return getEntityManager().unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    /**
+     * Read the password hash, active flag and token epoch of a user from the database, bypassing the
+     * second-level cache, so a logout, deactivation or password change on another instance is seen.
+     */
+    public Optional<UserCredentialsDTO> findCredentialsById(Long id) {
+        return getEntityManager()
+                .createQuery("select new com.taskmanager.dto.UserCredentialsDTO(u.password, u.active, u.tokenEpoch)"
+                        + " from User u where u.id = :id", UserCredentialsDTO.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Find the id of a user by their email, through the natural id cache.
+     */
+    public Optional<Long> findIdByEmail(String email) {
+        return findByEmail(email).map(User::getId);
+    }
+
+    /**
+     * Persist a new user in its own short transaction.
+     */
+    @Transactional
+    public void save(User user) {
+        persist(user);
+    }
+
+    /**
+     * Find the current token epoch of a user by email.
+     */
+    public Optional<Long> findTokenEpochByEmail(String email) {
+        return getEntityManager()
+                .createQuery("select u.tokenEpoch from User u where u.email = :email", Long.class)
+                .setParameter("email", email)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Increment the token epoch of a user, revoking every token issued before.
+     */
+    @Transactional
+    public int incrementTokenEpoch(Long id) {
+        return updateAndEvict(id, "update tbl_user set token_epoch = token_epoch + 1 where id = :id", Map.of());
+    }
+
+    /**
+     * Increment the token epoch of a user and return the stored value, read back in the same transaction
+     * while the UPDATE holds the row lock. Empty if the user does not exist.
+     */
+    @Transactional
+    public Optional<Long> incrementAndGetTokenEpoch(Long id) {
+        if (incrementTokenEpoch(id) == 0) {
+            return Optional.empty();
+        }
+        Object epoch = getEntityManager()
+                .createNativeQuery("select token_epoch from tbl_user where id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+        return Optional.of(((Number) epoch).longValue());
+    }
+
+    /**
+     * Increment the token epoch of a user by email, revoking every token issued before.
+     */
+    @Transactional
+    public int incrementTokenEpochByEmail(String email) {
+        return findIdByEmail(email).map(this::incrementTokenEpoch).orElse(0);
+    }
+
+    /**
+     * Find the current task version of a user by id.
+     */
+    public Optional<Long> findTaskVersionById(Long id) {
+        return readRoutingService.read(id, getSession(), session -> session
+                .createSelectionQuery("select u.taskVersion from User u where u.id = :id", Long.class)
+                .setParameter("id", id)
+                .uniqueResultOptional());
+    }
+
+    /**
+     * Find the task shard of a user by id, empty when the user has not written tasks yet.
+     */
+    public Optional<String> findTaskShardById(Long id) {
+        return getEntityManager()
+                .createQuery("select u.taskShard from User u where u.id = :id", String.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    /**
+     * Read the task shard of a user locking its row until the end of the transaction, so that
+     * task writes and shard moves of the same user are serialized.
+     */
+    public Optional<String> lockTaskShardById(Long id) {
+        List<?> shards = getEntityManager()
+                .createNativeQuery("select task_shard from tbl_user where id = :id for update")
+                .setParameter("id", id)
+                .getResultList();
+        return shards.stream().filter(Objects::nonNull).map(Object::toString).findFirst();
+    }
+
+    /**
+     * Retrieve up to limit (id, task shard) pairs of users with a shard after the given id, ordered by id.
+     */
+    public Map<Long, String> findTaskShardsAfter(long afterId, int limit) {
+        Map<Long, String> shards = new LinkedHashMap<>();
+        getEntityManager()
+                .createQuery("select u.id, u.taskShard from User u where u.id > :afterId and u.taskShard is not null order by u.id",
+                        Object[].class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList()
+                .forEach(row -> shards.put((Long) row[0], (String) row[1]));
+        return shards;
+    }
+
+    /**
+     * Assign the task shard of a user. The task version is not changed here: a move increments it in the
+     * same transaction, after checking that no task was written while copying.
+     */
+    @Transactional
+    public int updateTaskShard(Long id, String shard) {
+        return updateAndEvict(id, "update tbl_user set task_shard = :shard where id = :id", Map.of("shard", shard));
+    }
+
+    /**
+     * Increment the task version of a user after a change to their tasks.
+     */
+    @Transactional
+    public int incrementTaskVersion(Long id) {
+        return updateAndEvict(id, "update tbl_user set task_version = task_version + 1 where id = :id", Map.of());
+    }
+
+    /**
+     * Increment the task version of a user and return the stored value, read back in the same transaction
+     * while the UPDATE holds the row lock. Empty if the user does not exist.
+     */
+    @Transactional
+    public Optional<Long> incrementAndGetTaskVersion(Long id) {
+        if (incrementTaskVersion(id) == 0) {
+            return Optional.empty();
+        }
+        Object version = getEntityManager()
+                .createNativeQuery("select task_version from tbl_user where id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+        return Optional.of(((Number) version).longValue());
+    }
+
+    /**
+     * Increment the task version of a user only if it still equals the expected one.
+     * Returns 0 when another write got there first.
+     */
+    @Transactional
+    public int incrementTaskVersionIfMatches(Long id, long expectedVersion) {
+        return updateAndEvict(id, "update tbl_user set task_version = task_version + 1 where id = :id and task_version = :expected",
+                Map.of("expected", expectedVersion));
     }
 
     /**
@@ -24,7 +212,25 @@ public class UserRepository implements PanacheRepository<User> {
      */
     @Transactional
     public int updatePasswordById(Long id, String password) {
-        return update("password = :password where id = :id", 
-                      Parameters.with("password", password).and("id", id));
+        return updateAndEvict(id, "update tbl_user set password = :password where id = :id",
+                Map.of("password", password));
+    }
+
+    /**
+     * UPDATE nativo de una fila de tbl_user que desaloja solo esa entrada de la cache de segundo nivel,
+     * ahora y de nuevo al terminar la transacción. Un UPDATE HQL vaciaría la región completa de User,
+     * y el epoch y la versión de tareas cambian en cada login y en cada escritura de tareas
+     */
+    private int updateAndEvict(Long id, String sql, Map<String, Object> params) {
+        Query query = getEntityManager().createNativeQuery(sql).setParameter("id", id);
+        params.forEach(query::setParameter);
+        int updated = query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UNCACHED_QUERY_SPACE)
+                .executeUpdate();
+
+        Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+        cache.evict(User.class, id);
+        TransactionUtils.afterCompletion(transactionRegistry, () -> cache.evict(User.class, id));
+        return updated;
     }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.AuthResponseDTO;
-import com.taskmanager.model.User;
+import com.taskmanager.model.user.User;
 
 public interface IAuthService {
 
@@ -15,6 +15,11 @@ public interface IAuthService {
      */
     AuthResponseDTO login(User user);
 
+    /**
+     * Exchange a refresh token for a new access and refresh token pair
+     */
+    AuthResponseDTO refresh(String refreshToken);
+
     /**
      * Logout user by invalidating their tokens
      */
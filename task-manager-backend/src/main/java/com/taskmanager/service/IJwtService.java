@@ -1,12 +1,12 @@
 package com.taskmanager.service;
 
-import com.taskmanager.model.User;
+import com.taskmanager.model.user.User;
 
 public interface IJwtService {
 
     /**
-     * Generate a JWT token for a given user
+     * Generate a JWT token for a given user, embedding the token epoch as a claim
      */
-    String generateToken(User user);
+    String generateToken(User user, long tokenEpoch);
 
 }
\ No newline at end of file
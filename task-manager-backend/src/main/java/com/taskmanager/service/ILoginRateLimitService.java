@@ -0,0 +1,15 @@
+package com.taskmanager.service;
+
+public interface ILoginRateLimitService {
+
+    /**
+     * Admit a login attempt or throw TooManyRequestsException, without touching the database or BCrypt
+     */
+    void acquire(String email, String clientAddress);
+
+    /**
+     * Release the in-flight slot taken by a successful acquire
+     */
+    void release();
+
+}
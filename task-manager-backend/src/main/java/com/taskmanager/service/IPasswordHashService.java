@@ -0,0 +1,15 @@
+package com.taskmanager.service;
+
+public interface IPasswordHashService {
+
+    /**
+     * Hash a raw password with BCrypt on the hashing executor
+     */
+    String hash(String rawPassword);
+
+    /**
+     * Check a raw password against a BCrypt hash on the hashing executor
+     */
+    boolean verify(String rawPassword, String hashedPassword);
+
+}
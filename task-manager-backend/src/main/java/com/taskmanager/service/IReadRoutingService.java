@@ -0,0 +1,22 @@
+package com.taskmanager.service;
+
+import java.util.function.Function;
+
+import org.hibernate.Session;
+import org.hibernate.query.QueryProducer;
+
+public interface IReadRoutingService {
+
+    /**
+     * Run a read-only query of a user on the read replica, or on the given primary session when routing
+     * is disabled, the user wrote recently or the session is bound to a shard other than the default one
+     */
+    <T> T read(Long userId, Session primary, Function<QueryProducer, T> query);
+
+    /**
+     * Send the reads of a user to the primary for the read-your-writes window, counted from the end of
+     * the current transaction
+     */
+    void pinToPrimary(Long userId);
+
+}
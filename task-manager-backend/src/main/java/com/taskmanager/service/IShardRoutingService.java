@@ -0,0 +1,36 @@
+package com.taskmanager.service;
+
+public interface IShardRoutingService {
+
+    /**
+     * Name of the default datasource, the shard of every user with tasks before sharding
+     */
+    String DEFAULT_SHARD = "<default>";
+
+    /**
+     * Bind the shard of a user to the current transaction for reading their tasks, from the cached directory
+     */
+    String useShardForRead(Long userId);
+
+    /**
+     * Bind the shard of a user to the current transaction for writing their tasks. Locks the user row,
+     * so it waits for a move of the same user, and records the placement on the first write
+     */
+    String useShardForWrite(Long userId);
+
+    /**
+     * Shard bound to the current transaction, or the default shard
+     */
+    String currentShard();
+
+    /**
+     * Shard a user belongs to for the configured shards, by a stable hash of the user id
+     */
+    String placementFor(Long userId);
+
+    /**
+     * Forget the cached shard of a user after it moved
+     */
+    void invalidate(Long userId);
+
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.utils.TaskFilter;
+
+public interface ITaskCacheService {
+
+    /**
+     * Get the first page of tasks of a user at a task version for a filter and page size, loading it with the
+     * given loader on a miss; entries of any other version are never returned
+     */
+    TaskPageDTO getFirstPage(Long userId, long version, TaskFilter filter, int limit, Supplier<TaskPageDTO> loader);
+
+    /**
+     * Get one task of a user at a task version, loading it with the given loader on a miss
+     */
+    Optional<TaskDTO> getTask(Long userId, long version, Long taskId, Supplier<Optional<TaskDTO>> loader);
+
+    /**
+     * Drop every cached page and task of a user, to free the memory of versions that can no longer be read
+     */
+    void invalidateUser(Long userId);
+
+    /**
+     * Ratio of task lookups served from the cache
+     */
+    double getHitRatio();
+
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.service;
+
+import java.time.Instant;
+
+import com.taskmanager.dto.TaskEventDTO;
+
+import io.smallrye.mutiny.Multi;
+
+public interface ITaskEventService {
+
+    /**
+     * Publish a task event to the subscribers of a user once the current transaction commits
+     */
+    void publish(Long userId, String type, Long taskId);
+
+    /**
+     * Stream of task events of a user, with periodic heartbeats; it completes when the access token that
+     * opened it expires at expiresAt
+     */
+    Multi<TaskEventDTO> subscribe(Long userId, Instant expiresAt);
+
+    /**
+     * Complete the open streams of a user on this instance once the current transaction commits, used when
+     * the user's tokens are revoked
+     */
+    void closeUser(Long userId);
+
+    /**
+     * Number of open event streams
+     */
+    int getSubscriberCount();
+
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.service;
+
+import jakarta.ws.rs.core.StreamingOutput;
+
+public interface ITaskExportService {
+
+    /**
+     * Build a streaming NDJSON export of all tasks for a given user id, one task per line
+     */
+    StreamingOutput exportByUser(Long userId);
+
+}
@@ -2,22 +2,57 @@ package com.taskmanager.service;
 
 import java.util.List;
 
-import com.taskmanager.model.Task;
+import com.taskmanager.dto.TaskBatchOperationDTO;
+import com.taskmanager.dto.TaskBatchResultDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.model.task.Task;
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
 
 public interface ITaskService extends ICRUD<Task, Long> {
 
     /**
-     * Find all tasks for a given user email
+     * Create a task owned by a given user id
      */
-    List<Task> findAllByUser(String userEmail);
+    Task createForUser(Long userId, Task task);
 
     /**
-     * Find task by id and user email
+     * Update a task owned by a given user id; a non-null expectedVersion must match the current task version
      */
-    Task findByIdAndUserEmail(Long id, String userEmail);
+    Task updateForUser(Long userId, Task task, Long expectedVersion);
 
     /**
-     * Delete task by id and user email
+     * Apply a partial update to a task owned by a given user id, writing only the fields present in the patch;
+     * a non-null expectedVersion must match the current task version
      */
-    void deleteByIdAndUserEmail(Long id, String userEmail);
+    void patchForUser(Long userId, Long id, TaskPatchDTO patch, Long expectedVersion);
+
+    /**
+     * Find a page of tasks matching the filter for a given user id, starting after the cursor; version is the
+     * task version the caller read (and will send as ETag), used to key cached pages
+     */
+    TaskPageDTO findPageByUser(Long userId, long version, TaskFilter filter, TaskCursor cursor, int limit);
+
+    /**
+     * Find task by id and user id; version is the task version the caller read, used to key cached tasks
+     */
+    TaskDTO findByIdAndUser(Long id, Long userId, long version);
+
+    /**
+     * Delete task by id and user id; a non-null expectedVersion must match the current task version
+     */
+    void deleteByIdAndUser(Long id, Long userId, Long expectedVersion);
+
+    /**
+     * Get the current version of the tasks of a user, bumped on every task change
+     */
+    long getTaskVersion(Long userId);
+
+    /**
+     * Apply a list of create/update/delete operations for a given user id in one transaction,
+     * returning one result per operation in the same order
+     */
+    List<TaskBatchResultDTO> applyBatch(Long userId, List<TaskBatchOperationDTO> operations);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.taskmanager.service;
+
+public interface ITaskShardRebalanceService {
+
+    /**
+     * Move the tasks of every user whose shard differs from its placement for the configured shards,
+     * returning the number of users moved
+     */
+    long rebalance();
+
+}
@@ -0,0 +1,38 @@
+package com.taskmanager.service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface ITokenCacheService {
+
+    /**
+     * Get the cached validity of a token hash, empty if the token is not cached
+     */
+    Optional<Boolean> getValidity(String tokenHash);
+
+    /**
+     * Cache the validity of a token hash until the token expiration
+     */
+    void putValidity(String tokenHash, Long userId, boolean valid, Instant expiration);
+
+    /**
+     * Invalidate all cached tokens for a user
+     */
+    void invalidateUser(Long userId);
+
+    /**
+     * Get the current token epoch of a user, loading it from the database on a miss
+     */
+    Optional<Long> getTokenEpoch(String email);
+
+    /**
+     * Invalidate the cached token epoch of a user
+     */
+    void invalidateTokenEpoch(String email);
+
+    /**
+     * Ratio of token validity lookups served from the cache
+     */
+    double getHitRatio();
+
+}
@@ -0,0 +1,10 @@
+package com.taskmanager.service;
+
+public interface ITokenPurgeService {
+
+    /**
+     * Delete tokens past their refresh lifetime in small batches, returning the number of rows removed
+     */
+    long purgeTokens();
+
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.service;
+
+import java.security.Principal;
+
+public interface IUserIdentityService {
+
+    /**
+     * Resolve the id of the authenticated user from the uid claim, falling back to a cached email lookup
+     */
+    Long resolveUserId(Principal principal);
+
+}
@@ -1,15 +1,24 @@
 package com.taskmanager.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
-import org.mindrot.jbcrypt.BCrypt;
 
 import com.taskmanager.dto.AuthResponseDTO;
-import com.taskmanager.model.Token;
-import com.taskmanager.model.User;
+import com.taskmanager.dto.UserCredentialsDTO;
+import com.taskmanager.exception.TooManyRequestsException;
+import com.taskmanager.model.user.Token;
+import com.taskmanager.model.user.User;
 import com.taskmanager.repository.TokenRepository;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.service.IAuthService;
 import com.taskmanager.service.IJwtService;
+import com.taskmanager.service.IPasswordHashService;
+import com.taskmanager.service.ITaskEventService;
+import com.taskmanager.service.ITokenCacheService;
+import com.taskmanager.utils.TokenHashUtils;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -29,8 +38,25 @@ public class AuthServiceImpl implements IAuthService {
     @Inject
     private IJwtService jwtService;
 
+    @Inject
+    private ITokenCacheService tokenCacheService;
+
+    @Inject
+    private IPasswordHashService passwordHashService;
+
+    @Inject
+    private ITaskEventService taskEventService;
+
+    @ConfigProperty(name = "jwt.revocation.epoch-enabled", defaultValue = "false")
+    boolean epochRevocationEnabled;
+
+    @ConfigProperty(name = "jwt.refresh.expiration.time", defaultValue = "1209600")
+    long refreshExpirationTime;
+
+    /**
+     * Sin @Transactional: el hash se calcula fuera de la transacción y solo el INSERT retiene una conexión
+     */
     @Override
-    @Transactional
     public User register(User user) {
         LOG.infof("Initiating registration for user: %s", user.getEmail());
 
@@ -43,22 +69,27 @@ public class AuthServiceImpl implements IAuthService {
             User newUser = new User();
             newUser.setName(user.getName());
             newUser.setEmail(user.getEmail());
-            newUser.setPassword(BCrypt.hashpw(user.getPassword(), BCrypt.gensalt()));
+            newUser.setPassword(passwordHashService.hash(user.getPassword()));
 
             // Guardar usuario
-            userRepository.persist(newUser);
+            userRepository.save(newUser);
             LOG.infof("User registered successfully: %s", newUser.getEmail());
 
             return newUser;
 
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Error registering user: %s", user.getEmail());
             throw new RuntimeException("Error registering user", e);
         }
     }
 
+    /**
+     * Sin @Transactional: la lectura del usuario y la escritura del token son pasos cortos
+     * y BCrypt corre en el pool de hashing sin retener una conexión
+     */
     @Override
-    @Transactional
     public AuthResponseDTO login(User user) {
         LOG.infof("Initiating login for user: %s", user.getEmail());
 
@@ -66,47 +97,152 @@ public class AuthServiceImpl implements IAuthService {
             // Buscar usuario por email
             User userExist = userRepository.findByEmail(user.getEmail())
                     .orElseThrow(() -> new RuntimeException("Invalid Credentials"));
+            // Contraseña, estado y epoch desde la BD: la cache de segundo nivel es local a cada instancia
+            UserCredentialsDTO credentials = userRepository.findCredentialsById(userExist.getId())
+                    .orElseThrow(() -> new RuntimeException("Invalid Credentials"));
 
-            if (!userExist.getActive()) {
+            if (!credentials.getActive()) {
                 throw new RuntimeException("User is inactive");
             }
 
-            if (!BCrypt.checkpw(user.getPassword(), userExist.getPassword())) {
+            if (!passwordHashService.verify(user.getPassword(), credentials.getPassword())) {
                 throw new RuntimeException("Invalid Credentials");
             }
 
             LOG.infof("Login successful for user: %s", userExist.getEmail());
 
-            String token = jwtService.generateToken(userExist);
-            Token newToken = new Token();
-            newToken.setAccessToken(token);
-            newToken.setRefreshToken("");
-            newToken.setUser(userExist);
-            
-            tokenRepository.invalidateAllTokensForUser(userExist.getId());
-            tokenRepository.persist(newToken);
+            long tokenEpoch = credentials.getTokenEpoch();
+            if (epochRevocationEnabled) {
+                // Revoca los access tokens anteriores con un único UPDATE sobre tbl_user. Se firma el valor
+                // releído tras el UPDATE, no el leído antes: con dos logins simultáneos cada uno recibe el suyo
+                tokenEpoch = userRepository.incrementAndGetTokenEpoch(userExist.getId())
+                        .orElseThrow(() -> new RuntimeException("Invalid Credentials"));
+                tokenCacheService.invalidateTokenEpoch(userExist.getEmail());
+            }
 
-            return new AuthResponseDTO(token, "Login successful");
+            String accessToken = jwtService.generateToken(userExist, tokenEpoch);
+            String refreshToken = TokenHashUtils.randomToken();
+
+            Token token = newToken(userExist, accessToken, refreshToken, tokenEpoch);
+            if (epochRevocationEnabled) {
+                // El incremento del epoch ya revocó los tokens anteriores: solo se inserta la fila del refresh token
+                tokenRepository.save(token);
+            } else {
+                tokenRepository.replaceTokensForUser(userExist.getId(), token);
+                tokenCacheService.invalidateUser(userExist.getId());
+            }
+            // Los streams SSE abiertos con los tokens anteriores no sobreviven a su revocación
+            taskEventService.closeUser(userExist.getId());
 
+            return new AuthResponseDTO(accessToken, refreshToken, "Login successful");
+
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (RuntimeException e) {
             LOG.errorf(e, "Error en login para usuario: %s", user.getEmail());
             throw new RuntimeException("Invalid Credentials", e);
         }
     }
 
+    /**
+     * Renueva el access token con una firma y una búsqueda por hash, sin BCrypt.
+     * El refresh token se rota en cada uso; presentar uno ya consumido revoca todas las sesiones del usuario
+     */
+    @Override
+    public AuthResponseDTO refresh(String refreshToken) {
+        Token current = tokenRepository.findByRefreshTokenHash(TokenHashUtils.sha256(refreshToken))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        User user = current.getUser();
+        // El epoch y el estado se leen de la BD, no de la cache de segundo nivel: un logout en otra instancia
+        // debe invalidar este refresh token
+        UserCredentialsDTO credentials = userRepository.findCredentialsById(user.getId())
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+
+        // Con revocación por epoch el logout no marca las filas: un epoch anterior es una sesión cerrada, no una reutilización
+        if (epochRevocationEnabled && !Objects.equals(current.getTokenEpoch(), credentials.getTokenEpoch())) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+
+        if (!current.isValid()) {
+            LOG.warnf("Refresh token reuse detected for user: %s", user.getEmail());
+            revokeAllSessions(user);
+            throw new RuntimeException("Invalid refresh token");
+        }
+
+        if (current.getCreatedAt() == null
+                || current.getCreatedAt().plusSeconds(refreshExpirationTime).isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Refresh token has expired");
+        }
+
+        if (!credentials.getActive()) {
+            throw new RuntimeException("User is inactive");
+        }
+
+        String accessToken = jwtService.generateToken(user, credentials.getTokenEpoch());
+        String newRefreshToken = TokenHashUtils.randomToken();
+
+        // Otro request consumió el mismo refresh token entre la lectura y la rotación
+        if (!tokenRepository.rotateToken(current.getId(), newToken(user, accessToken, newRefreshToken, credentials.getTokenEpoch()))) {
+            LOG.warnf("Concurrent refresh token reuse detected for user: %s", user.getEmail());
+            revokeAllSessions(user);
+            throw new RuntimeException("Invalid refresh token");
+        }
+        tokenCacheService.invalidateUser(user.getId());
+        if (!epochRevocationEnabled) {
+            // Sin epoch la rotación revoca el access token anterior y con él sus streams SSE
+            taskEventService.closeUser(user.getId());
+        }
+
+        LOG.infof("Token refreshed for user: %s", user.getEmail());
+        return new AuthResponseDTO(accessToken, newRefreshToken, "Token refreshed");
+    }
+
     @Override
     @Transactional
     public void logout(String email) {
         LOG.infof("Logging out user with email: %s", email);
         try {
+            if (epochRevocationEnabled) {
+                // Un único UPDATE del epoch revoca access y refresh tokens; tbl_token no se toca
+                if (userRepository.incrementTokenEpochByEmail(email) == 0) {
+                    throw new RuntimeException("User not found with email: " + email);
+                }
+                tokenCacheService.invalidateTokenEpoch(email);
+                userRepository.findIdByEmail(email).ifPresent(taskEventService::closeUser);
+                LOG.infof("User with email %s logged out successfully", email);
+                return;
+            }
+
             User user = userRepository.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
             Long userId = user.getId();
             tokenRepository.invalidateAllTokensForUser(userId);
+            tokenCacheService.invalidateUser(userId);
+            taskEventService.closeUser(userId);
             LOG.infof("User with email %s logged out successfully", email);
         } catch (Exception e) {
             LOG.errorf(e, "Error logging out user with email: %s", email);
             throw new RuntimeException("Error logging out user", e);
         }
     }
-}
\ No newline at end of file
+
+    private Token newToken(User user, String accessToken, String refreshToken, long tokenEpoch) {
+        Token token = new Token();
+        token.setAccessTokenHash(TokenHashUtils.sha256(accessToken));
+        token.setRefreshTokenHash(TokenHashUtils.sha256(refreshToken));
+        token.setTokenEpoch(tokenEpoch);
+        token.setUser(user);
+        return token;
+    }
+
+    private void revokeAllSessions(User user) {
+        if (epochRevocationEnabled) {
+            userRepository.incrementTokenEpoch(user.getId());
+            tokenCacheService.invalidateTokenEpoch(user.getEmail());
+        } else {
+            tokenRepository.invalidateAllTokensForUser(user.getId());
+            tokenCacheService.invalidateUser(user.getId());
+        }
+        taskEventService.closeUser(user.getId());
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.jboss.logging.Logger;
 
+import com.taskmanager.configuration.ReadOnlyTransactional;
 import com.taskmanager.service.ICRUD;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
@@ -41,6 +42,7 @@ public abstract class CRUDImpl<T, ID> implements ICRUD<T, ID> {
     }
 
     @Override
+    @ReadOnlyTransactional
     public Optional<T> findById(ID id) {
         LOG.infof("Finding entity with ID: %s", id);
         PanacheRepository<T> repo = this.getRepo();
@@ -48,6 +50,7 @@ public abstract class CRUDImpl<T, ID> implements ICRUD<T, ID> {
     }
 
     @Override
+    @ReadOnlyTransactional
     public List<T> findAll() {
         LOG.infof("Finding all entities");
         PanacheRepository<T> repo = this.getRepo();
@@ -6,8 +6,9 @@ import java.util.Set;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
-import com.taskmanager.model.User;
+import com.taskmanager.model.user.User;
 import com.taskmanager.service.IJwtService;
+import com.taskmanager.utils.JwtUtils;
 
 import io.smallrye.jwt.build.Jwt;
 import io.smallrye.jwt.build.JwtSignatureException;
@@ -25,7 +26,7 @@ public class JwtServiceImpl implements IJwtService {
     long expirationTime;
 
     @Override
-    public String generateToken(User user) {
+    public String generateToken(User user, long tokenEpoch) {
         try {
             LOG.infof("Generating token for user: %s", user.getEmail());
 
@@ -33,6 +34,8 @@ public class JwtServiceImpl implements IJwtService {
                     .upn(user.getEmail())  
                     .subject(user.getEmail())
                     .claim("name", user.getName())
+                    .claim(JwtUtils.USER_ID_CLAIM, user.getId())
+                    .claim(JwtUtils.TOKEN_EPOCH_CLAIM, tokenEpoch)
                     .groups(Set.of("user"))
                     .expiresIn(Duration.ofSeconds(expirationTime))
                     .sign();
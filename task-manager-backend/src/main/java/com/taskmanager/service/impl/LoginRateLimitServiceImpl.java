@@ -0,0 +1,167 @@
+package com.taskmanager.service.impl;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.exception.TooManyRequestsException;
+import com.taskmanager.service.ILoginRateLimitService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Control de admisión para el login: token buckets por email y por IP más un
+ * límite global de verificaciones BCrypt en curso. Los rechazos no tocan la BD.
+ */
+@ApplicationScoped
+public class LoginRateLimitServiceImpl implements ILoginRateLimitService {
+
+    private static final Logger LOG = Logger.getLogger(LoginRateLimitServiceImpl.class);
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "auth.rate-limit.email.capacity", defaultValue = "5")
+    int emailCapacity;
+
+    @ConfigProperty(name = "auth.rate-limit.email.refill-per-minute", defaultValue = "5")
+    int emailRefillPerMinute;
+
+    @ConfigProperty(name = "auth.rate-limit.ip.capacity", defaultValue = "20")
+    int ipCapacity;
+
+    @ConfigProperty(name = "auth.rate-limit.ip.refill-per-minute", defaultValue = "20")
+    int ipRefillPerMinute;
+
+    @ConfigProperty(name = "auth.rate-limit.max-keys", defaultValue = "100000")
+    long maxKeys;
+
+    @ConfigProperty(name = "auth.rate-limit.expire-after", defaultValue = "600")
+    long expireAfter;
+
+    @ConfigProperty(name = "auth.login.max-concurrent", defaultValue = "8")
+    int maxConcurrent;
+
+    private Cache<String, TokenBucket> emailBuckets;
+
+    private Cache<String, TokenBucket> ipBuckets;
+
+    private Semaphore inFlight;
+
+    private Counter emailRejections;
+
+    private Counter ipRejections;
+
+    private Counter concurrencyRejections;
+
+    @PostConstruct
+    void init() {
+        this.emailBuckets = newBucketCache();
+        this.ipBuckets = newBucketCache();
+        this.inFlight = new Semaphore(maxConcurrent);
+
+        this.emailRejections = rejectionCounter("email");
+        this.ipRejections = rejectionCounter("ip");
+        this.concurrencyRejections = rejectionCounter("concurrency");
+        Gauge.builder("auth.login.in.flight", inFlight, s -> maxConcurrent - s.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void acquire(String email, String clientAddress) {
+        if (clientAddress != null) {
+            TokenBucket ipBucket = ipBuckets.get(clientAddress, k -> new TokenBucket(ipCapacity, ipRefillPerMinute));
+            long waitSeconds = ipBucket.tryConsume();
+            if (waitSeconds > 0) {
+                ipRejections.increment();
+                LOG.warnf("Login rate limit exceeded for address: %s", clientAddress);
+                throw new TooManyRequestsException("Too many login attempts, try again later", waitSeconds);
+            }
+        }
+
+        String emailKey = email.toLowerCase(Locale.ROOT);
+        TokenBucket emailBucket = emailBuckets.get(emailKey, k -> new TokenBucket(emailCapacity, emailRefillPerMinute));
+        long waitSeconds = emailBucket.tryConsume();
+        if (waitSeconds > 0) {
+            emailRejections.increment();
+            LOG.warnf("Login rate limit exceeded for user: %s", email);
+            throw new TooManyRequestsException("Too many login attempts, try again later", waitSeconds);
+        }
+
+        if (!inFlight.tryAcquire()) {
+            concurrencyRejections.increment();
+            LOG.warn("Too many concurrent login attempts");
+            throw new TooManyRequestsException("Server is busy, try again later", 1);
+        }
+    }
+
+    @Override
+    public void release() {
+        inFlight.release();
+    }
+
+    private Cache<String, TokenBucket> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(expireAfter))
+                .build();
+    }
+
+    private Counter rejectionCounter(String reason) {
+        return Counter.builder("auth.login.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Token bucket sin bloqueos: el estado es inmutable y se reemplaza con CAS
+     */
+    static class TokenBucket {
+
+        private record State(double tokens, long refilledAt) {}
+
+        private final int capacity;
+
+        private final double tokensPerNano;
+
+        private final AtomicReference<State> state;
+
+        TokenBucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        /**
+         * Consume un token; devuelve 0 si se admite o los segundos hasta el próximo token
+         */
+        long tryConsume() {
+            while (true) {
+                State current = state.get();
+                long now = System.nanoTime();
+                double available = Math.min(capacity, current.tokens() + (now - current.refilledAt()) * tokensPerNano);
+
+                if (available < 1) {
+                    double missingNanos = (1 - available) / tokensPerNano;
+                    return Math.max(1, (long) Math.ceil(missingNanos / TimeUnit.SECONDS.toNanos(1)));
+                }
+
+                if (state.compareAndSet(current, new State(available - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskmanager.service.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.mindrot.jbcrypt.BCrypt;
+
+import com.taskmanager.exception.TooManyRequestsException;
+import com.taskmanager.service.IPasswordHashService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Ejecuta BCrypt en un pool dedicado y acotado, fuera de cualquier transacción,
+ * para que un pico de logins no retenga conexiones del pool JDBC.
+ */
+@ApplicationScoped
+public class PasswordHashServiceImpl implements IPasswordHashService {
+
+    private static final Logger LOG = Logger.getLogger(PasswordHashServiceImpl.class);
+
+    private static final String EXECUTOR_NAME = "password-hashing";
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "auth.hashing.pool-size", defaultValue = "4")
+    int poolSize;
+
+    @ConfigProperty(name = "auth.hashing.queue-size", defaultValue = "64")
+    int queueSize;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer hashTimer;
+
+    private Timer verifyTimer;
+
+    @PostConstruct
+    void init() {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME);
+        Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.hashing.duration")
+                .tag("operation", "hash")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.hashing.duration")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return submit(() -> hashTimer.recordCallable(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt())));
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String hashedPassword) {
+        return submit(() -> verifyTimer.recordCallable(() -> BCrypt.checkpw(rawPassword, hashedPassword)));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            LOG.warnf("Password hashing queue is full (%d pending)", executor.getQueue().size());
+            throw new TooManyRequestsException("Password hashing capacity exceeded", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error hashing password", e.getCause());
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, EXECUTOR_NAME + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskmanager.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.StatelessSessionBuilder;
+import org.hibernate.query.QueryProducer;
+import org.jboss.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.service.IReadRoutingService;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.utils.TransactionUtils;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Enruta las lecturas de los GET de tareas a la réplica. Las consultas son HQL sobre proyecciones,
+ * así que la misma consulta se ejecuta en la sesión del primario o en una StatelessSession de la
+ * misma unidad de persistencia abierta sobre una conexión de la réplica
+ */
+@ApplicationScoped
+public class ReadRoutingServiceImpl implements IReadRoutingService {
+
+    private static final Logger LOG = Logger.getLogger(ReadRoutingServiceImpl.class);
+
+    @Inject
+    @DataSource("replica")
+    private AgroalDataSource replicaDataSource;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "tasks.read-replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "tasks.read-replica.read-your-writes", defaultValue = "5")
+    long readYourWritesSeconds;
+
+    @ConfigProperty(name = "tasks.read-replica.max-pinned-users", defaultValue = "100000")
+    long maxPinnedUsers;
+
+    // Usuarios con una escritura reciente; la entrada caduca al terminar la ventana
+    private Cache<Long, Boolean> pinnedUsers;
+
+    private Counter primaryReads;
+
+    private Counter replicaReads;
+
+    @PostConstruct
+    void init() {
+        this.pinnedUsers = Caffeine.newBuilder()
+                .maximumSize(maxPinnedUsers)
+                .expireAfterWrite(Duration.ofSeconds(readYourWritesSeconds))
+                .build();
+        this.primaryReads = meterRegistry.counter("tasks.reads", "target", "primary");
+        this.replicaReads = meterRegistry.counter("tasks.reads", "target", "replica");
+        LOG.infof("Read replica routing %s", enabled ? "enabled" : "disabled");
+    }
+
+    @Override
+    public <T> T read(Long userId, Session primary, Function<QueryProducer, T> query) {
+        if (!enabled || pinnedUsers.getIfPresent(userId) != null) {
+            primaryReads.increment();
+            return query.apply(primary);
+        }
+        // La réplica lo es del datasource por defecto: las tareas de otros shards se leen en su shard
+        Object tenant = primary.getTenantIdentifierValue();
+        if (tenant != null && !IShardRoutingService.DEFAULT_SHARD.equals(tenant)) {
+            primaryReads.increment();
+            return query.apply(primary);
+        }
+        replicaReads.increment();
+        // Fuera de la transacción JTA: la conexión de la réplica no se enlista y la lectura es un SELECT en autocommit
+        return QuarkusTransaction.suspendingExisting().call(() -> {
+            StatelessSessionBuilder builder = primary.getSessionFactory().withStatelessOptions();
+            if (tenant != null) {
+                builder.tenantIdentifier(tenant);
+            }
+            try (Connection connection = replicaDataSource.getConnection();
+                    StatelessSession replica = builder.connection(connection).openStatelessSession()) {
+                return query.apply(replica);
+            } catch (SQLException e) {
+                throw new PersistenceException("Could not read from the replica", e);
+            }
+        });
+    }
+
+    @Override
+    public void pinToPrimary(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        pinnedUsers.put(userId, Boolean.TRUE);
+        TransactionUtils.afterCompletion(transactionRegistry, () -> pinnedUsers.put(userId, Boolean.TRUE));
+    }
+}
@@ -0,0 +1,136 @@
+package com.taskmanager.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.configuration.ReadOnlyTransactionInterceptor;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.utils.TransactionUtils;
+
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Reparte las tareas por usuario entre los datasources de tasks.shards. El directorio es
+ * tbl_user.task_shard en el datasource por defecto; un usuario sin shard (sin tareas escritas)
+ * se ubica con jump consistent hash, que al añadir un shard al final solo mueve usuarios hacia él
+ */
+@ApplicationScoped
+public class ShardRoutingServiceImpl implements IShardRoutingService {
+
+    private static final Logger LOG = Logger.getLogger(ShardRoutingServiceImpl.class);
+
+    // Clave del shard en los recursos de la transacción JTA; la lee TaskShardTenantResolver
+    private static final String SHARD_RESOURCE = ShardRoutingServiceImpl.class.getName() + ".shard";
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    @PersistenceUnit("tasks")
+    private Session taskSession;
+
+    @ConfigProperty(name = "tasks.shards", defaultValue = DEFAULT_SHARD)
+    List<String> shards;
+
+    @ConfigProperty(name = "tasks.shards.directory-ttl", defaultValue = "30")
+    long directoryTtl;
+
+    @ConfigProperty(name = "tasks.shards.directory-max-size", defaultValue = "100000")
+    long directoryMaxSize;
+
+    private Cache<Long, String> directory;
+
+    @PostConstruct
+    void init() {
+        this.directory = Caffeine.newBuilder()
+                .maximumSize(directoryMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(directoryTtl))
+                .build();
+        LOG.infof("Task shards: %s", shards);
+    }
+
+    @Override
+    public String useShardForRead(Long userId) {
+        String shard = directory.get(userId, id -> userRepository.findTaskShardById(id).orElseGet(() -> placementFor(id)));
+        bind(shard);
+        // Con el shard ya ligado, la sesión de "tasks" se abre en el tenant correcto
+        if (ReadOnlyTransactionInterceptor.isReadOnly(transactionRegistry)) {
+            ReadOnlyTransactionInterceptor.configure(taskSession);
+        }
+        return shard;
+    }
+
+    @Override
+    public String useShardForWrite(Long userId) {
+        String shard = userRepository.lockTaskShardById(userId).orElse(null);
+        if (shard == null) {
+            shard = placementFor(userId);
+            userRepository.updateTaskShard(userId, shard);
+        }
+        bind(shard);
+        return shard;
+    }
+
+    @Override
+    public String currentShard() {
+        if (transactionRegistry.getTransactionKey() == null) {
+            return DEFAULT_SHARD;
+        }
+        Object shard = transactionRegistry.getResource(SHARD_RESOURCE);
+        return shard == null ? DEFAULT_SHARD : (String) shard;
+    }
+
+    @Override
+    public String placementFor(Long userId) {
+        return shards.get(jumpHash(userId, shards.size()));
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        directory.invalidate(userId);
+        TransactionUtils.afterCompletion(transactionRegistry, () -> directory.invalidate(userId));
+    }
+
+    /**
+     * La sesión de la unidad "tasks" toma el tenant al abrirse, una vez por transacción: una transacción
+     * no puede cambiar de shard
+     */
+    private void bind(String shard) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            return;
+        }
+        Object bound = transactionRegistry.getResource(SHARD_RESOURCE);
+        if (bound != null && !bound.equals(shard)) {
+            throw new IllegalStateException("Transaction already bound to task shard " + bound + ", requested " + shard);
+        }
+        transactionRegistry.putResource(SHARD_RESOURCE, shard);
+    }
+
+    /**
+     * Jump consistent hash (Lamping y Veach): cubeta estable en [0, buckets) sin tabla de asignación
+     */
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
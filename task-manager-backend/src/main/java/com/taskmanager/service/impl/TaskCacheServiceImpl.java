@@ -0,0 +1,152 @@
+package com.taskmanager.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.service.ITaskCacheService;
+import com.taskmanager.utils.TaskFilter;
+import com.taskmanager.utils.TransactionUtils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Cache en memoria de tareas por usuario: la primera página de cada filtro y tamaño (la que piden los
+ * clientes al abrir o refrescar la lista) y el detalle de cada tarea. Caffeine desaloja por frecuencia de uso (W-TinyLFU)
+ * y el peso de cada entrada es una estimación de su tamaño en bytes, así que el límite es de memoria.
+ * La versión de tareas del usuario (la del ETag) forma parte de la clave: una escritura en cualquier instancia
+ * incrementa la versión y deja inservibles las entradas anteriores sin necesidad de invalidar entre nodos, y una
+ * lectura que termina después de la escritura solo puede guardar su resultado bajo la versión que leyó
+ */
+@ApplicationScoped
+public class TaskCacheServiceImpl implements ITaskCacheService {
+
+    private static final Logger LOG = Logger.getLogger(TaskCacheServiceImpl.class);
+
+    private static final String CACHE_NAME = "tasks";
+
+    // Cabecera de objeto, campos y fecha de una proyección; los textos se suman aparte (2 bytes por char)
+    private static final int TASK_OVERHEAD_BYTES = 150;
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "tasks.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "tasks.cache.max-memory", defaultValue = "67108864")
+    long maxMemory;
+
+    @ConfigProperty(name = "tasks.cache.ttl", defaultValue = "300")
+    long ttl;
+
+    // Una primera página (taskId null) o el detalle de una tarea (filter null), de una versión de tareas del usuario
+    private record TaskCacheKey(Long userId, long version, Long taskId, TaskFilter filter, int limit) {}
+
+    // El detalle se guarda como una lista de un elemento, sin cursor
+    private record TaskCacheEntry(List<TaskDTO> tasks, String nextCursor) {}
+
+    private Cache<TaskCacheKey, TaskCacheEntry> cache;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            LOG.info("Task cache disabled");
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory)
+                .weigher((TaskCacheKey key, TaskCacheEntry entry) -> estimateSize(entry.tasks()))
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", this, ITaskCacheService::getHitRatio)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.memory.estimate", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TaskPageDTO getFirstPage(Long userId, long version, TaskFilter filter, int limit, Supplier<TaskPageDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        TaskCacheEntry entry = cache.get(new TaskCacheKey(userId, version, null, filter, limit), key -> {
+            TaskPageDTO page = loader.get();
+            return new TaskCacheEntry(List.copyOf(page.getItems()), page.getNextCursor());
+        });
+        return new TaskPageDTO(entry.tasks(), entry.nextCursor());
+    }
+
+    @Override
+    public Optional<TaskDTO> getTask(Long userId, long version, Long taskId, Supplier<Optional<TaskDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // Un null del loader no se guarda: las tareas inexistentes no ocupan cache
+        TaskCacheEntry cached = cache.get(new TaskCacheKey(userId, version, taskId, null, 0),
+                key -> loader.get().map(task -> new TaskCacheEntry(List.of(task), null)).orElse(null));
+        return cached == null ? Optional.empty() : Optional.of(cached.tasks().get(0));
+    }
+
+    /**
+     * Solo libera memoria: las entradas de versiones anteriores ya no se leen. Se repite al terminar la
+     * transacción para soltar también lo que otra lectura guardó mientras tanto
+     */
+    @Override
+    public void invalidateUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        evictUser(userId);
+        TransactionUtils.afterCompletion(transactionRegistry, () -> evictUser(userId));
+    }
+
+    @Override
+    public double getHitRatio() {
+        return enabled ? cache.stats().hitRate() : 0.0;
+    }
+
+    private void evictUser(Long userId) {
+        cache.asMap().keySet().removeIf(key -> Objects.equals(key.userId(), userId));
+    }
+
+    private static int estimateSize(List<TaskDTO> tasks) {
+        long size = ENTRY_OVERHEAD_BYTES;
+        for (TaskDTO task : tasks) {
+            size += TASK_OVERHEAD_BYTES + 2L * (length(task.getTitle()) + length(task.getDescription()));
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
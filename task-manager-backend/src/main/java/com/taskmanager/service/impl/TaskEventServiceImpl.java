@@ -0,0 +1,147 @@
+package com.taskmanager.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.taskmanager.dto.TaskEventDTO;
+import com.taskmanager.service.ITaskEventService;
+import com.taskmanager.utils.TransactionUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Fan-out en memoria de eventos de tareas a los streams SSE abiertos en esta instancia. Publicar no
+ * bloquea: cada suscriptor tiene un buffer acotado y, si se llena porque el cliente no lee, su stream
+ * termina con error y se cierra la conexión (el cliente reconecta y relee la lista). Un stream no
+ * sobrevive a su token: termina al caducar el access token y al revocar las sesiones del usuario
+ */
+@ApplicationScoped
+public class TaskEventServiceImpl implements ITaskEventService {
+
+    private static final Logger LOG = Logger.getLogger(TaskEventServiceImpl.class);
+
+    // Marca interna de cierre: termina el stream (eventos y heartbeats) y no se envía al cliente
+    private static final TaskEventDTO CLOSE = new TaskEventDTO("close", null);
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "tasks.events.buffer-size", defaultValue = "64")
+    int bufferSize;
+
+    @ConfigProperty(name = "tasks.events.heartbeat", defaultValue = "15")
+    long heartbeatSeconds;
+
+    private final Map<Long, Set<MultiEmitter<? super TaskEventDTO>>> subscribers = new ConcurrentHashMap<>();
+
+    private Counter slowDisconnects;
+
+    @PostConstruct
+    void init() {
+        this.slowDisconnects = meterRegistry.counter("tasks.events.slow.disconnects");
+        Gauge.builder("tasks.events.subscribers", this, ITaskEventService::getSubscriberCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * El evento se emite tras el commit: un rollback no notifica y el cliente que relee ya ve el cambio
+     */
+    @Override
+    public void publish(Long userId, String type, Long taskId) {
+        TaskEventDTO event = new TaskEventDTO(type, taskId);
+        TransactionUtils.afterCommit(transactionRegistry, () -> emit(userId, event));
+    }
+
+    @Override
+    public Multi<TaskEventDTO> subscribe(Long userId, Instant expiresAt) {
+        Duration validity = Duration.between(Instant.now(), expiresAt);
+        if (validity.isNegative() || validity.isZero()) {
+            return Multi.createFrom().empty();
+        }
+        Multi<TaskEventDTO> events = Multi.createFrom().<TaskEventDTO>emitter(emitter -> {
+                    // Dentro de compute para no añadir a un conjunto que unsubscribe acaba de quitar del mapa
+                    subscribers.compute(userId, (key, emitters) -> {
+                        Set<MultiEmitter<? super TaskEventDTO>> current = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+                        current.add(emitter);
+                        return current;
+                    });
+                    emitter.onTermination(() -> unsubscribe(userId, emitter));
+                })
+                .onOverflow().buffer(bufferSize)
+                .onFailure(BackPressureFailure.class).invoke(failure -> {
+                    slowDisconnects.increment();
+                    LOG.warnf("Closing task event stream of user id: %d, the client is not reading", userId);
+                });
+        // Los heartbeats que no se pueden enviar se descartan; no cuentan para el buffer de eventos
+        Duration heartbeat = Duration.ofSeconds(heartbeatSeconds);
+        Multi<TaskEventDTO> heartbeats = Multi.createFrom().ticks().startingAfter(heartbeat).every(heartbeat)
+                .onOverflow().drop()
+                .map(tick -> TaskEventDTO.heartbeat());
+        // Al caducar el token se emite la marca de cierre: select().first(Duration) completaría sin cancelar
+        // los streams de origen y el emisor quedaría registrado
+        Multi<TaskEventDTO> expiration = Uni.createFrom().item(CLOSE).onItem().delayIt().by(validity).toMulti();
+        return Multi.createBy().merging().withRequests(1).streams(events, heartbeats, expiration)
+                .select().first(event -> event != CLOSE);
+    }
+
+    /**
+     * Se cierra tras el commit, como los eventos: un rollback no revoca nada
+     */
+    @Override
+    public void closeUser(Long userId) {
+        TransactionUtils.afterCommit(transactionRegistry, () -> close(userId));
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void emit(Long userId, TaskEventDTO event) {
+        Set<MultiEmitter<? super TaskEventDTO>> emitters = subscribers.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (MultiEmitter<? super TaskEventDTO> emitter : emitters) {
+            emitter.emit(event);
+        }
+    }
+
+    private void close(Long userId) {
+        Set<MultiEmitter<? super TaskEventDTO>> emitters = subscribers.remove(userId);
+        if (emitters == null) {
+            return;
+        }
+        LOG.infof("Closing %d task event streams of user id: %d", emitters.size(), userId);
+        for (MultiEmitter<? super TaskEventDTO> emitter : emitters) {
+            emitter.emit(CLOSE);
+            emitter.complete();
+        }
+    }
+
+    private void unsubscribe(Long userId, MultiEmitter<? super TaskEventDTO> emitter) {
+        subscribers.computeIfPresent(userId, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskmanager.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.model.task.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.service.ITaskExportService;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.StreamingOutput;
+
+@ApplicationScoped
+public class TaskExportServiceImpl implements ITaskExportService {
+
+    private static final Logger LOG = Logger.getLogger(TaskExportServiceImpl.class);
+
+    @Inject
+    private TaskRepository taskRepository;
+
+    @Inject
+    private ObjectMapper objectMapper;
+
+    @Inject
+    private IShardRoutingService shardRoutingService;
+
+    @ConfigProperty(name = "tasks.export.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    @ConfigProperty(name = "tasks.export.flush-every", defaultValue = "500")
+    int flushEvery;
+
+    @ConfigProperty(name = "tasks.export.transaction-timeout", defaultValue = "600")
+    int transactionTimeout;
+
+    /**
+     * La lectura ocurre al escribir el cuerpo de la respuesta, en su propia transacción ligada al shard del usuario.
+     * La conexión y la transacción siguen abiertas hasta enviar la última fila: un cliente lento retiene una
+     * conexión del pool hasta tasks.export.transaction-timeout, que aborta la descarga al vencer
+     */
+    @Override
+    public StreamingOutput exportByUser(Long userId) {
+        LOG.infof("Preparing task export for user id: %d", userId);
+        return output -> QuarkusTransaction.requiringNew()
+                .timeout(transactionTimeout)
+                .run(() -> {
+                    shardRoutingService.useShardForRead(userId);
+                    writeTasks(userId, output);
+                });
+    }
+
+    /**
+     * Escribe cada tarea a medida que llega del cursor y la saca del contexto de persistencia,
+     * de modo que el heap no crece con el número de tareas
+     */
+    private void writeTasks(Long userId, OutputStream output) {
+        EntityManager entityManager = taskRepository.getEntityManager();
+        // Sin flush por tarea: el generador solo vacía su buffer cada flush-every tareas
+        ObjectWriter writer = objectMapper.writerFor(Task.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+
+        try (Stream<Task> tasks = taskRepository.streamByUserId(userId, fetchSize);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                writer.writeValue(generator, task);
+                generator.writeRaw('\n');
+                entityManager.detach(task);
+
+                if (++written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            LOG.errorf(e, "Error exporting tasks for user id: %d after %d tasks", userId, written);
+            throw new UncheckedIOException(e);
+        }
+        LOG.infof("Exported %d tasks for user id: %d", written, userId);
+    }
+}
@@ -1,20 +1,44 @@
 package com.taskmanager.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.jboss.logging.Logger;
 
-import com.taskmanager.model.Task;
-import com.taskmanager.model.User;
+import com.taskmanager.configuration.ReadOnlyTransactional;
+import com.taskmanager.dto.TaskBatchOperationDTO;
+import com.taskmanager.dto.TaskBatchResultDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskEventDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.exception.PreconditionFailedException;
+import com.taskmanager.model.task.Task;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IReadRoutingService;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.service.ITaskCacheService;
+import com.taskmanager.service.ITaskEventService;
 import com.taskmanager.service.ITaskService;
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.core.Response;
 
 @ApplicationScoped
 public class TaskServiceImpl extends CRUDImpl<Task, Long> implements ITaskService {
@@ -26,93 +50,262 @@ public class TaskServiceImpl extends CRUDImpl<Task, Long> implements ITaskServic
     @Inject
     private UserRepository userRepository;
 
+    @Inject
+    private Validator validator;
+
+    @Inject
+    private ITaskCacheService taskCacheService;
+
+    @Inject
+    private IReadRoutingService readRoutingService;
+
+    @Inject
+    private IShardRoutingService shardRoutingService;
+
+    @Inject
+    private ITaskEventService taskEventService;
+
     @Override
     protected PanacheRepository<Task> getRepo() {
         return this.taskRepository;
     }
 
-    @Override 
+    /**
+     * Create a task for a user id in the shard of the user
+     */
+    @Override
     @Transactional
-    public Task create(Task taskEntity) {
-        LOG.infof("Creating a new task");
-        Optional<User> userObject = userRepository.findByEmail(taskEntity.getUser().getEmail());
-        if (userObject.isEmpty()) {
-            throw new IllegalArgumentException("User not found with email: " + taskEntity.getUser().getEmail());
-        }
-        taskEntity.setUser(userObject.get());
-        return super.create(taskEntity);
-    }   
+    public Task createForUser(Long userId, Task taskEntity) {
+        LOG.infof("Creating a new task for user id: %d", userId);
+        shardRoutingService.useShardForWrite(userId);
+        taskEntity.setUserId(userId);
+        bumpTaskVersion(userId, null);
+        Task created = super.create(taskEntity);
+        taskEventService.publish(userId, TaskEventDTO.CREATED, created.getId());
+        return created;
+    }
 
+    /**
+     * Un único UPDATE acotado por id y dueño; 0 filas significa que la tarea no existe o es de otro
+     * usuario (no se distingue para no revelar tareas ajenas). Connector/J devuelve filas encontradas,
+     * por lo que un UPDATE sin cambios también cuenta 1
+     */
     @Override
     @Transactional
-    public Task update(Task taskEntity) {
-        LOG.infof("Updating task with id: %d", taskEntity.getId());
-        Optional<User> userObject = userRepository.findByEmail(taskEntity.getUser().getEmail());
-        if (userObject.isEmpty()) {
-            throw new IllegalArgumentException("User not found with email: " + taskEntity.getUser().getEmail());
-        }
-
-        Optional<Task> existingTask = taskRepository.findByIdOptional(taskEntity.getId());
-        if (existingTask.isEmpty()) {
+    public Task updateForUser(Long userId, Task taskEntity, Long expectedVersion) {
+        LOG.infof("Updating task with id: %d for user id: %d", taskEntity.getId(), userId);
+        shardRoutingService.useShardForWrite(userId);
+        bumpTaskVersion(userId, expectedVersion);
+        int updated = taskRepository.updateContentByIdAndUserId(taskEntity.getId(), userId,
+                taskEntity.getTitle(), taskEntity.getDescription(), LocalDateTime.now());
+        if (updated == 0) {
             throw new IllegalArgumentException("Task not found with id: " + taskEntity.getId());
         }
+        taskEventService.publish(userId, TaskEventDTO.UPDATED, taskEntity.getId());
+        // PUT no modifica completed: se relee la fila (ya bloqueada por el UPDATE) para devolver su estado real
+        return taskRepository.findEntityByIdAndUserId(taskEntity.getId(), userId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskEntity.getId()));
+    }
 
-        if (!isUserOwnerOfTask(userObject.get(), existingTask.get())) {
-            throw new IllegalArgumentException("User is not the owner of the task");
+    /**
+     * Un único UPDATE con solo las columnas presentes en el patch, acotado por id y dueño
+     */
+    @Override
+    @Transactional
+    public void patchForUser(Long userId, Long id, TaskPatchDTO patch, Long expectedVersion) {
+        LOG.infof("Patching task with id: %d for user id: %d", id, userId);
+        shardRoutingService.useShardForWrite(userId);
+        bumpTaskVersion(userId, expectedVersion);
+        if (taskRepository.patchByIdAndUserId(id, userId, patch, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Task not found with id: " + id);
         }
-
-        taskEntity.setUser(userObject.get());
-        taskEntity.setCreatedAt(existingTask.get().getCreatedAt());
-        taskEntity.setCompleted(existingTask.get().getCompleted());
-        return super.update(taskEntity);
+        taskEventService.publish(userId, TaskEventDTO.UPDATED, id);
     }
 
     /**
-     * Find all tasks for a given user email
+     * Find a page of tasks for a given user id. La primera página (sin cursor) se lee a través de la cache
+     * de tareas, por versión, filtro y tamaño; las siguientes van siempre a la BD
      */
     @Override
-    public List<Task> findAllByUser(String userEmail) {
-        LOG.infof("Finding all tasks for user: %s", userEmail);
-        Optional<User> userObject = userRepository.findByEmail(userEmail);
-        if (userObject.isEmpty()) {
-            throw new IllegalArgumentException("User not found with email: " + userEmail);
+    @ReadOnlyTransactional
+    public TaskPageDTO findPageByUser(Long userId, long version, TaskFilter filter, TaskCursor cursor, int limit) {
+        LOG.infof("Finding page of %d tasks for user id: %d", limit, userId);
+        if (cursor == null) {
+            return taskCacheService.getFirstPage(userId, version, filter, limit, () -> loadPage(userId, filter, null, limit));
         }
-        return taskRepository.findByUserId(userObject.get().getId());
+        return loadPage(userId, filter, cursor, limit);
     }
 
     /**
-     * Find task by id and user email
+     * Find task by id and user id, read-through the task cache. La consulta ya está acotada por dueño:
+     * una tarea de otro usuario se trata como inexistente
      */
     @Override
-    public Task findByIdAndUserEmail(Long id, String userEmail) {
-        LOG.infof("Finding task with id: %d for user: %s", id, userEmail);
-        Optional<User> userObject = userRepository.findByEmail(userEmail);
-        if (userObject.isEmpty()) {
-            throw new IllegalArgumentException("User not found with email: " + userEmail);
-        }
-        Optional<Task> taskObject = super.findById(id);
+    @ReadOnlyTransactional
+    public TaskDTO findByIdAndUser(Long id, Long userId, long version) {
+        LOG.infof("Finding task with id: %d for user id: %d", id, userId);
+        Optional<TaskDTO> taskObject = taskCacheService.getTask(userId, version, id, () -> {
+            shardRoutingService.useShardForRead(userId);
+            return taskRepository.findByIdAndUserId(id, userId);
+        });
         if (taskObject.isEmpty()) {
-            throw new IllegalArgumentException("Task not found with id: " + id + " for user: " + userEmail);
-        }
-        if (!isUserOwnerOfTask(userObject.get(), taskObject.get())) {
-            throw new IllegalArgumentException("User is not the owner of the task");
+            throw new IllegalArgumentException("Task not found with id: " + id);
         }
         return taskObject.get();
     }
 
     /**
-     * Delete task by id and user email
+     * Delete task by id and user id with a single owner-scoped DELETE
      */
+    @Override
+    @Transactional
+    public void deleteByIdAndUser(Long id, Long userId, Long expectedVersion) {
+        LOG.infof("Deleting task with id: %d for user id: %d", id, userId);
+        shardRoutingService.useShardForWrite(userId);
+        bumpTaskVersion(userId, expectedVersion);
+        if (taskRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new IllegalArgumentException("Task not found with id: " + id);
+        }
+        taskEventService.publish(userId, TaskEventDTO.DELETED, id);
+    }
+
+    /**
+     * Get the current task version of a user, without loading any task
+     */
+    @Override
+    @ReadOnlyTransactional
+    public long getTaskVersion(Long userId) {
+        return userRepository.findTaskVersionById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+    }
 
+    /**
+     * Todas las operaciones comparten una transacción: los INSERT/UPDATE/DELETE se envían al hacer
+     * flush en lotes JDBC (quarkus.hibernate-orm.jdbc.statement-batch-size). Una operación inválida
+     * se informa en su resultado y no impide aplicar las demás
+     */
     @Override
     @Transactional
-    public void deleteByIdAndUserEmail(Long id, String userEmail) {
-        LOG.infof("Deleting task with id: %d for user: %s", id, userEmail);
-        Task task = findByIdAndUserEmail(id, userEmail);
-        super.delete(task.getId());
+    public List<TaskBatchResultDTO> applyBatch(Long userId, List<TaskBatchOperationDTO> operations) {
+        LOG.infof("Applying batch of %d task operations for user id: %d", operations.size(), userId);
+        shardRoutingService.useShardForWrite(userId);
+
+        // Una sola consulta para todas las tareas referenciadas por update/delete
+        Set<Long> ids = operations.stream()
+                .filter(op -> !TaskBatchOperationDTO.CREATE.equals(op.getOp()))
+                .map(TaskBatchOperationDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> owned = ids.isEmpty() ? Map.of()
+                : taskRepository.findByIdsAndUserId(ids, userId).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskBatchResultDTO> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(applyOperation(i, operations.get(i), userId, owned));
+        }
+        if (results.stream().anyMatch(TaskBatchResultDTO::isSuccess)) {
+            bumpTaskVersion(userId, null);
+        }
+        return results;
     }
 
-    private boolean isUserOwnerOfTask(User user, Task task) {
-        return user.getId().equals(task.getUser().getId());
+    private TaskBatchResultDTO applyOperation(int index, TaskBatchOperationDTO operation, Long userId, Map<Long, Task> owned) {
+        String op = operation.getOp();
+        if (TaskBatchOperationDTO.CREATE.equals(op)) {
+            Task task = new Task(operation.getTitle(), operation.getDescription(), userId);
+            if (operation.getCompleted() != null) {
+                task.setCompleted(operation.getCompleted());
+            }
+            String violations = describe(validator.validate(task));
+            if (violations != null) {
+                return TaskBatchResultDTO.error(index, op, null, Response.Status.BAD_REQUEST.getStatusCode(), violations);
+            }
+            taskRepository.persist(task);
+            taskEventService.publish(userId, TaskEventDTO.CREATED, task.getId());
+            return TaskBatchResultDTO.success(index, op, task.getId(), Response.Status.CREATED.getStatusCode());
+        }
+
+        Task task = operation.getId() == null ? null : owned.get(operation.getId());
+        if (task == null) {
+            return TaskBatchResultDTO.error(index, op, operation.getId(), Response.Status.NOT_FOUND.getStatusCode(),
+                    "Task not found with id: " + operation.getId());
+        }
+
+        if (TaskBatchOperationDTO.DELETE.equals(op)) {
+            taskRepository.delete(task);
+            owned.remove(task.getId());
+            taskEventService.publish(userId, TaskEventDTO.DELETED, task.getId());
+            return TaskBatchResultDTO.success(index, op, task.getId(), Response.Status.OK.getStatusCode());
+        }
+
+        String violations = describe(validateChanges(operation));
+        if (violations != null) {
+            return TaskBatchResultDTO.error(index, op, task.getId(), Response.Status.BAD_REQUEST.getStatusCode(), violations);
+        }
+        if (operation.getTitle() != null) {
+            task.setTitle(operation.getTitle());
+        }
+        if (operation.getDescription() != null) {
+            task.setDescription(operation.getDescription());
+        }
+        if (operation.getCompleted() != null) {
+            task.setCompleted(operation.getCompleted());
+        }
+        taskEventService.publish(userId, TaskEventDTO.UPDATED, task.getId());
+        return TaskBatchResultDTO.success(index, op, task.getId(), Response.Status.OK.getStatusCode());
+    }
+
+    /**
+     * Se pide una fila extra para saber si hay página siguiente
+     */
+    private TaskPageDTO loadPage(Long userId, TaskFilter filter, TaskCursor cursor, int limit) {
+        shardRoutingService.useShardForRead(userId);
+        List<TaskDTO> tasks = taskRepository.findPageByUserId(userId, filter, cursor, limit + 1);
+        if (tasks.size() <= limit) {
+            return new TaskPageDTO(tasks, null);
+        }
+        List<TaskDTO> page = tasks.subList(0, limit);
+        return new TaskPageDTO(page, TaskCursor.of(page.get(limit - 1), filter.isDescending()).encode());
+    }
+
+    /**
+     * Incrementa la versión de tareas del usuario (lo que deja obsoletas sus entradas de cache en todas las
+     * instancias) en la misma transacción que la escritura, y libera las entradas locales. Con If-Match el incremento es condicional: bloquea la fila del usuario y falla si otra
+     * escritura ya cambió la versión; si la escritura posterior no encuentra la tarea, el rollback
+     * deshace también el incremento. Las lecturas del usuario van al primario durante la ventana
+     * read-your-writes, para no leer (ni cachear) de la réplica un estado anterior a la escritura
+     */
+    private void bumpTaskVersion(Long userId, Long expectedVersion) {
+        taskCacheService.invalidateUser(userId);
+        readRoutingService.pinToPrimary(userId);
+        if (expectedVersion == null) {
+            userRepository.incrementTaskVersion(userId);
+            return;
+        }
+        if (userRepository.incrementTaskVersionIfMatches(userId, expectedVersion) == 0) {
+            throw new PreconditionFailedException("Tasks have been modified since the given version");
+        }
+    }
+
+    private Set<ConstraintViolation<Task>> validateChanges(TaskBatchOperationDTO operation) {
+        Set<ConstraintViolation<Task>> violations = new HashSet<>();
+        if (operation.getTitle() != null) {
+            violations.addAll(validator.validateValue(Task.class, "title", operation.getTitle()));
+        }
+        if (operation.getDescription() != null) {
+            violations.addAll(validator.validateValue(Task.class, "description", operation.getDescription()));
+        }
+        return violations;
+    }
+
+    private String describe(Set<ConstraintViolation<Task>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.taskmanager.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.taskmanager.model.task.Task;
+import com.taskmanager.repository.TaskShardRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.service.ITaskCacheService;
+import com.taskmanager.service.ITaskShardRebalanceService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class TaskShardRebalanceServiceImpl implements ITaskShardRebalanceService {
+
+    private static final Logger LOG = Logger.getLogger(TaskShardRebalanceServiceImpl.class);
+
+    // Intentos de copia de un usuario cuyas tareas cambian mientras se copian
+    static final int MOVE_ATTEMPTS = 3;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private IShardRoutingService shardRoutingService;
+
+    @Inject
+    private ITaskCacheService taskCacheService;
+
+    @Inject
+    private TaskShardRepository taskShardRepository;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "tasks.shards.rebalance.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "tasks.shards.rebalance.batch-size", defaultValue = "200")
+    int batchSize;
+
+    @ConfigProperty(name = "tasks.shards.rebalance.pause", defaultValue = "200")
+    long pauseMillis;
+
+    @ConfigProperty(name = "tasks.shards.rebalance.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    @ConfigProperty(name = "tasks.shards.directory-ttl", defaultValue = "30")
+    long directoryTtl;
+
+    private Counter movedUsers;
+
+    // Usuario movido cuyas tareas siguen en el shard origen hasta que caduque el directorio cacheado
+    private record MovedUser(Long userId, String source, long movedAt) {}
+
+    @PostConstruct
+    void init() {
+        this.movedUsers = Counter.builder("tasks.shard.moves")
+                .description("Users whose tasks were moved to another shard")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(identity = "task-shard-rebalance", every = "{tasks.shards.rebalance.every}",
+            delayed = "{tasks.shards.rebalance.every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRebalance() {
+        if (enabled) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Recorre el directorio por id en lotes; cada usuario se mueve en sus propias transacciones y la pausa
+     * entre movimientos limita la carga sobre los shards. Las tareas de un usuario movido se borran del origen
+     * cuando ya caducó el directorio cacheado en todas las instancias: hasta entonces otra instancia aún puede
+     * leer el origen, que conserva la misma lista
+     */
+    @Override
+    public long rebalance() {
+        LOG.info("Rebalancing task shards");
+        long moved = 0;
+        long lastId = 0;
+        Deque<MovedUser> pendingSources = new ArrayDeque<>();
+        try {
+            while (true) {
+                Map<Long, String> users = userRepository.findTaskShardsAfter(lastId, batchSize);
+                for (Map.Entry<Long, String> user : users.entrySet()) {
+                    String target = shardRoutingService.placementFor(user.getKey());
+                    if (!target.equals(user.getValue()) && moveUser(user.getKey(), user.getValue(), target)) {
+                        moved++;
+                        pendingSources.addLast(new MovedUser(user.getKey(), user.getValue(), System.currentTimeMillis()));
+                        deleteSources(pendingSources, false);
+                        Thread.sleep(pauseMillis);
+                    }
+                    lastId = user.getKey();
+                }
+                if (users.size() < batchSize) {
+                    break;
+                }
+            }
+            deleteSources(pendingSources, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Task shard rebalance interrupted");
+        } finally {
+            // Borrarlas antes de tiempo dejaría listas incompletas en otras instancias; en el origen ya no se leen
+            // y se borran si el usuario vuelve a ese shard
+            pendingSources.forEach(user -> LOG.warnf("Tasks of user id: %d left in shard %s after the move", user.userId(), user.source()));
+        }
+        LOG.infof("Task shard rebalance finished, %d users moved", moved);
+        return moved;
+    }
+
+    /**
+     * Borra del origen las tareas de los usuarios movidos hace más de directory-ttl segundos; con wait espera
+     * a que venzan todos
+     */
+    private void deleteSources(Deque<MovedUser> pending, boolean wait) throws InterruptedException {
+        long ttlMillis = directoryTtl * 1000;
+        while (!pending.isEmpty()) {
+            long remaining = pending.peekFirst().movedAt() + ttlMillis - System.currentTimeMillis();
+            if (remaining > 0) {
+                if (!wait) {
+                    return;
+                }
+                Thread.sleep(remaining);
+            }
+            MovedUser user = pending.pollFirst();
+            try {
+                deleteTasks(user.userId(), user.source());
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "Error deleting the moved tasks of user id: %d from shard %s", user.userId(), user.source());
+            }
+        }
+    }
+
+    /**
+     * Copia todas las tareas al destino por tramos de chunk-size ids, cada uno en su propia transacción y sin
+     * bloquear al usuario: durante la copia lecturas y escrituras siguen en el origen completo. Después cambia
+     * el directorio solo si la versión de tareas no cambió desde que empezó la copia (ninguna escritura quedó
+     * fuera); si cambió, repite la copia. Un fallo deja al usuario en el origen con todas sus tareas
+     */
+    private boolean moveUser(Long userId, String source, String target) {
+        try {
+            for (int attempt = 1; attempt <= MOVE_ATTEMPTS; attempt++) {
+                Long version = QuarkusTransaction.requiringNew().call(() -> clearTarget(userId, source, target));
+                if (version == null) {
+                    return false;
+                }
+                int tasks = copyTasks(userId, source, target);
+                if (QuarkusTransaction.requiringNew().call(() -> switchShard(userId, source, target, version))) {
+                    movedUsers.increment();
+                    LOG.infof("Moved %d tasks of user id: %d from shard %s to %s", tasks, userId, source, target);
+                    return true;
+                }
+                LOG.infof("Tasks of user id: %d changed while copying them to shard %s (attempt %d of %d)",
+                        userId, target, attempt, MOVE_ATTEMPTS);
+            }
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Error moving tasks of user id: %d from shard %s to %s", userId, source, target);
+        }
+        return false;
+    }
+
+    /**
+     * Con la fila del usuario bloqueada, borra las copias de un intento anterior en el destino e incrementa
+     * la versión de tareas, que es la referencia de la copia: otro movimiento concurrente del mismo usuario
+     * también la incrementa y hace fallar el cambio de directorio de este. Null si el usuario ya no está en el origen
+     */
+    private Long clearTarget(Long userId, String source, String target) {
+        if (!source.equals(userRepository.lockTaskShardById(userId).orElse(null))) {
+            return null;
+        }
+        int deleted;
+        do {
+            deleted = taskShardRepository.deleteByUserId(target, userId, chunkSize);
+        } while (deleted == chunkSize);
+        return userRepository.incrementAndGetTaskVersion(userId).orElse(null);
+    }
+
+    /**
+     * Copia las tareas por keyset de id, un lote JDBC por tramo
+     */
+    private int copyTasks(Long userId, String source, String target) {
+        long afterId = 0;
+        int copied = 0;
+        while (true) {
+            long from = afterId;
+            List<Task> chunk = QuarkusTransaction.requiringNew().call(() -> {
+                List<Task> tasks = taskShardRepository.findByUserIdAfter(source, userId, from, chunkSize);
+                if (!tasks.isEmpty()) {
+                    taskShardRepository.insertAll(target, tasks);
+                }
+                return tasks;
+            });
+            copied += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return copied;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Cambia el directorio con la fila del usuario bloqueada (las escrituras esperan a este commit y después
+     * van al destino) e incrementa la versión en la misma transacción, solo si sigue siendo la de la copia
+     */
+    private boolean switchShard(Long userId, String source, String target, long version) {
+        if (!source.equals(userRepository.lockTaskShardById(userId).orElse(null))) {
+            return false;
+        }
+        if (userRepository.incrementTaskVersionIfMatches(userId, version) == 0) {
+            return false;
+        }
+        userRepository.updateTaskShard(userId, target);
+        shardRoutingService.invalidate(userId);
+        taskCacheService.invalidateUser(userId);
+        return true;
+    }
+
+    /**
+     * Borra las tareas del usuario en el origen por tramos, cada uno en su transacción. Si el usuario volvió
+     * a ese shard entretanto, las filas son las suyas y no se borran
+     */
+    private void deleteTasks(Long userId, String source) {
+        int deleted = 0;
+        while (true) {
+            Integer chunk = QuarkusTransaction.requiringNew().call(() -> {
+                if (source.equals(userRepository.lockTaskShardById(userId).orElse(null))) {
+                    return null;
+                }
+                return taskShardRepository.deleteByUserId(source, userId, chunkSize);
+            });
+            if (chunk == null) {
+                LOG.infof("User id: %d is back in shard %s, its tasks there are kept", userId, source);
+                return;
+            }
+            deleted += chunk;
+            if (chunk < chunkSize) {
+                LOG.infof("Deleted %d moved tasks of user id: %d from shard %s", deleted, userId, source);
+                return;
+            }
+        }
+    }
+}
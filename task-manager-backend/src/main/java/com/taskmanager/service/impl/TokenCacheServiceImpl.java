@@ -0,0 +1,153 @@
+package com.taskmanager.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.ITokenCacheService;
+import com.taskmanager.utils.TransactionUtils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ApplicationScoped
+public class TokenCacheServiceImpl implements ITokenCacheService {
+
+    private static final Logger LOG = Logger.getLogger(TokenCacheServiceImpl.class);
+
+    private static final String CACHE_NAME = "token-validity";
+
+    private static final String EPOCH_CACHE_NAME = "token-epoch";
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "jwt.cache.max-size", defaultValue = "10000")
+    long maxSize;
+
+    @ConfigProperty(name = "jwt.cache.ttl", defaultValue = "300")
+    long ttl;
+
+    private Cache<String, CachedToken> cache;
+
+    private LoadingCache<String, Long> epochCache;
+
+    private record CachedToken(Long userId, boolean valid, Instant expiration) {}
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(Duration.ofSeconds(ttl)))
+                .recordStats()
+                .build();
+
+        this.epochCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .recordStats()
+                .build(email -> userRepository.findTokenEpochByEmail(email).orElse(null));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, epochCache, EPOCH_CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", this, ITokenCacheService::getHitRatio)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", epochCache, c -> c.stats().hitRate())
+                .tag("cache", EPOCH_CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Boolean> getValidity(String tokenHash) {
+        CachedToken cached = cache.getIfPresent(tokenHash);
+        return cached == null ? Optional.empty() : Optional.of(cached.valid());
+    }
+
+    @Override
+    public void putValidity(String tokenHash, Long userId, boolean valid, Instant expiration) {
+        cache.put(tokenHash, new CachedToken(userId, valid, expiration));
+    }
+
+    @Override
+    public void invalidateUser(Long userId) {
+        LOG.infof("Invalidating cached tokens for user id: %d", userId);
+        evictUser(userId);
+        TransactionUtils.afterCompletion(transactionRegistry, () -> evictUser(userId));
+    }
+
+    @Override
+    public Optional<Long> getTokenEpoch(String email) {
+        return Optional.ofNullable(epochCache.get(email));
+    }
+
+    @Override
+    public void invalidateTokenEpoch(String email) {
+        LOG.infof("Invalidating cached token epoch for user: %s", email);
+        epochCache.invalidate(email);
+        TransactionUtils.afterCompletion(transactionRegistry, () -> epochCache.invalidate(email));
+    }
+
+    @Override
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    private void evictUser(Long userId) {
+        cache.asMap().values().removeIf(cached -> Objects.equals(cached.userId(), userId));
+    }
+
+    /**
+     * Expira cada entrada al cumplirse el TTL o el exp del JWT, lo que ocurra primero
+     */
+    private static class TokenExpiry implements Expiry<String, CachedToken> {
+
+        private final Duration ttl;
+
+        TokenExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            if (value.expiration() == null) {
+                return ttl.toNanos();
+            }
+            Duration untilExpiration = Duration.between(Instant.now(), value.expiration());
+            if (untilExpiration.isNegative()) {
+                return 0;
+            }
+            return Math.min(ttl.toNanos(), untilExpiration.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
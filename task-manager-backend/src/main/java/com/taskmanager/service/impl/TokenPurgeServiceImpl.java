@@ -0,0 +1,93 @@
+package com.taskmanager.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.taskmanager.repository.TokenRepository;
+import com.taskmanager.service.ITokenPurgeService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class TokenPurgeServiceImpl implements ITokenPurgeService {
+
+    private static final Logger LOG = Logger.getLogger(TokenPurgeServiceImpl.class);
+
+    @Inject
+    private TokenRepository tokenRepository;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "jwt.expiration.time")
+    long expirationTime;
+
+    @ConfigProperty(name = "jwt.refresh.expiration.time", defaultValue = "1209600")
+    long refreshExpirationTime;
+
+    @ConfigProperty(name = "jwt.purge.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "jwt.purge.pause", defaultValue = "200")
+    long pauseMillis;
+
+    private DistributionSummary purgedRows;
+
+    @PostConstruct
+    void init() {
+        this.purgedRows = DistributionSummary.builder("jwt.purge.rows")
+                .description("Tokens removed per purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(identity = "token-purge", every = "{jwt.purge.every}", delayed = "{jwt.purge.every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledPurge() {
+        purgeTokens();
+    }
+
+    /**
+     * Cada lote es una transacción corta; la pausa entre lotes evita retener locks sobre tbl_token
+     */
+    @Override
+    public long purgeTokens() {
+        // Una fila sigue viva mientras su refresh token pueda presentarse, aunque ya esté consumido:
+        // la detección de reutilización depende de encontrarla
+        LocalDateTime issuedBefore = LocalDateTime.now().minusSeconds(Math.max(expirationTime, refreshExpirationTime));
+        LOG.infof("Purging tokens issued before %s", issuedBefore);
+
+        long removed = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                List<Long> ids = tokenRepository.findPurgeableIds(lastId, issuedBefore, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                removed += tokenRepository.deleteByIds(ids);
+                lastId = ids.get(ids.size() - 1);
+
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Token purge interrupted");
+        }
+
+        purgedRows.record(removed);
+        LOG.infof("Token purge finished, %d rows removed", removed);
+        return removed;
+    }
+}
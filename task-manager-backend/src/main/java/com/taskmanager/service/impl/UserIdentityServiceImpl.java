@@ -0,0 +1,73 @@
+package com.taskmanager.service.impl;
+
+import java.security.Principal;
+import java.time.Duration;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.jboss.logging.Logger;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IUserIdentityService;
+import com.taskmanager.utils.JwtUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class UserIdentityServiceImpl implements IUserIdentityService {
+
+    private static final Logger LOG = Logger.getLogger(UserIdentityServiceImpl.class);
+
+    private static final String CACHE_NAME = "user-id";
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "auth.user-id-cache.max-size", defaultValue = "10000")
+    long maxSize;
+
+    @ConfigProperty(name = "auth.user-id-cache.ttl", defaultValue = "3600")
+    long ttl;
+
+    private LoadingCache<String, Long> userIdCache;
+
+    @PostConstruct
+    void init() {
+        this.userIdCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .recordStats()
+                .build(email -> userRepository.findIdByEmail(email).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, userIdCache, CACHE_NAME);
+    }
+
+    /**
+     * Los tokens emitidos antes del claim uid se resuelven por email una vez y quedan en cache
+     */
+    @Override
+    public Long resolveUserId(Principal principal) {
+        if (principal instanceof JsonWebToken jwt) {
+            Long userId = JwtUtils.getLongClaim(jwt, JwtUtils.USER_ID_CLAIM);
+            if (userId != null) {
+                return userId;
+            }
+        }
+
+        String email = principal.getName();
+        LOG.debugf("Token without %s claim, resolving user id for: %s", JwtUtils.USER_ID_CLAIM, email);
+        Long userId = userIdCache.get(email);
+        if (userId == null) {
+            throw new IllegalArgumentException("User not found with email: " + email);
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.utils;
+
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Token ya verificado del request actual, compartido por el filtro y JwtUtils.
+ * Si el token es el mismo que SmallRye verificó para el SecurityIdentity se reutiliza;
+ * en otro caso se parsea una sola vez por request.
+ */
+@RequestScoped
+public class JwtTokenContext {
+
+    @Inject
+    JsonWebToken jwt; // Token verificado por Quarkus para el request
+
+    @Inject
+    JWTParser jwtParser;
+
+    private String rawToken;
+
+    private JsonWebToken parsedToken;
+
+    /**
+     * Devuelve el token parseado, verificando la firma como máximo una vez por request
+     */
+    public JsonWebToken resolve(String token) {
+        if (parsedToken != null && token.equals(rawToken)) {
+            return parsedToken;
+        }
+
+        if (token.equals(jwt.getRawToken())) {
+            parsedToken = jwt;
+        } else {
+            try {
+                parsedToken = jwtParser.parse(token);
+            } catch (ParseException e) {
+                throw new RuntimeException("Token inválido", e);
+            }
+        }
+        rawToken = token;
+        return parsedToken;
+    }
+}
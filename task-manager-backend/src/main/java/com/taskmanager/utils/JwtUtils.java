@@ -2,34 +2,34 @@ package com.taskmanager.utils;
 
 import java.time.Instant;
 
-import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
-import io.smallrye.jwt.auth.principal.JWTParser;
-import io.smallrye.jwt.auth.principal.ParseException;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.JsonNumber;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class JwtUtils {
 
+    public static final String TOKEN_EPOCH_CLAIM = "token_epoch";
+
+    public static final String USER_ID_CLAIM = "uid";
+
     @Inject
-    JWTParser jwtParser; // Quarkus inyecta un parser configurado con tu publicKey
+    JwtTokenContext tokenContext; // Reutiliza el token ya verificado en el request
 
     /**
-     * Parsea un token y devuelve el principal
+     * Devuelve el token parseado del request actual
      */
-    private JWTCallerPrincipal parseToken(String token) {
-        try {
-            return (JWTCallerPrincipal) jwtParser.parse(token);
-        } catch (ParseException e) {
-            throw new RuntimeException("Token inválido", e);
-        }
+    private JsonWebToken parseToken(String token) {
+        return tokenContext.resolve(token);
     }
 
     /** 
      * Extraer correo (subject / upn)
      */
     public String getEmail(String token) {
-        JWTCallerPrincipal principal = parseToken(token);
+        JsonWebToken principal = parseToken(token);
         return principal.getClaim("upn"); // o principal.getSubject()
     }
 
@@ -37,7 +37,7 @@ public class JwtUtils {
      * Extraer nombre
      */
     public String getName(String token) {
-        JWTCallerPrincipal principal = parseToken(token);
+        JsonWebToken principal = parseToken(token);
         return principal.getClaim("name");
     }
 
@@ -45,7 +45,7 @@ public class JwtUtils {
      * Extraer issuer
      */
     public String getIssuer(String token) {
-        JWTCallerPrincipal principal = parseToken(token);
+        JsonWebToken principal = parseToken(token);
         return principal.getIssuer();
     }
 
@@ -53,10 +53,31 @@ public class JwtUtils {
      * Extraer fecha de expiración
      */
     public Instant getExpiration(String token) {
-        JWTCallerPrincipal principal = parseToken(token);
-        Object exp = principal.getClaim("exp");
-        if (exp instanceof Long aLong) {
-            return Instant.ofEpochSecond(aLong);
+        JsonWebToken principal = parseToken(token);
+        long exp = principal.getExpirationTime();
+        if (exp > 0) {
+            return Instant.ofEpochSecond(exp);
+        }
+        return null;
+    }
+
+    /**
+     * Extraer el epoch de revocación con el que se emitió el token
+     */
+    public Long getTokenEpoch(String token) {
+        return getLongClaim(parseToken(token), TOKEN_EPOCH_CLAIM);
+    }
+
+    /**
+     * Extraer un claim numérico, que puede llegar como JsonNumber o como Number
+     */
+    public static Long getLongClaim(JsonWebToken principal, String claim) {
+        Object value = principal.getClaim(claim);
+        if (value instanceof JsonNumber number) {
+            return number.longValue();
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
         }
         return null;
     }
@@ -0,0 +1,74 @@
+package com.taskmanager.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+import com.taskmanager.dto.TaskDTO;
+
+/**
+ * Posición de keyset (created_at, id) de la última tarea devuelta y el orden en que se leyó, codificada
+ * como token opaco: un cursor solo continúa una lista en su mismo orden
+ */
+public final class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String ASCENDING = "asc";
+
+    private static final String DESCENDING = "desc";
+
+    private final LocalDateTime createdAt;
+
+    private final Long id;
+
+    private final boolean descending;
+
+    public TaskCursor(LocalDateTime createdAt, Long id, boolean descending) {
+        this.createdAt = createdAt;
+        this.id = id;
+        this.descending = descending;
+    }
+
+    public static TaskCursor of(TaskDTO task, boolean descending) {
+        return new TaskCursor(task.getCreatedAt(), task.getId(), descending);
+    }
+
+    /**
+     * Decodifica el cursor recibido en la query; null o vacío significa primera página
+     */
+    public static TaskCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 3 || !(ASCENDING.equals(parts[2]) || DESCENDING.equals(parts[2]))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TaskCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), DESCENDING.equals(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id + SEPARATOR + (descending ? DESCENDING : ASCENDING);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public boolean isDescending() {
+        return this.descending;
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.utils;
+
+import jakarta.ws.rs.core.EntityTag;
+
+/**
+ * ETag fuerte de las tareas de un usuario: "userId-taskVersion". La versión cambia con cada
+ * escritura de tareas del usuario, así que sirve para la lista y para el detalle
+ */
+public final class TaskETag {
+
+    /**
+     * Versión que nunca coincide: un If-Match con un ETag ajeno o mal formado siempre da 412
+     */
+    public static final long NO_MATCH = -1L;
+
+    private static final String SEPARATOR = "-";
+
+    private TaskETag() {
+    }
+
+    public static EntityTag of(Long userId, long version) {
+        return new EntityTag(userId + SEPARATOR + version);
+    }
+
+    /**
+     * Versión esperada según el header If-Match: null si no hay header o es "*",
+     * NO_MATCH si ningún ETag de la lista pertenece al usuario
+     */
+    public static Long parseIfMatch(String header, Long userId) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String prefix = userId + SEPARATOR;
+        for (String tag : header.split(",")) {
+            String value = tag.trim();
+            // Comparación fuerte: los ETag débiles (W/) no sirven para If-Match
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (!value.startsWith(prefix)) {
+                continue;
+            }
+            try {
+                return Long.parseLong(value.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                // ETag mal formado, se ignora
+            }
+        }
+        return NO_MATCH;
+    }
+}
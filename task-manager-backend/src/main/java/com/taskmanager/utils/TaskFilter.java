@@ -0,0 +1,85 @@
+package com.taskmanager.utils;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Filtros y orden de la lista de tareas; los null no filtran. Los rangos son [from, to)
+ */
+public final class TaskFilter {
+
+    private final Boolean completed;
+
+    private final LocalDateTime createdFrom;
+
+    private final LocalDateTime createdTo;
+
+    private final LocalDateTime updatedFrom;
+
+    private final LocalDateTime updatedTo;
+
+    private final boolean descending;
+
+    public TaskFilter(Boolean completed, LocalDateTime createdFrom, LocalDateTime createdTo,
+            LocalDateTime updatedFrom, LocalDateTime updatedTo, boolean descending) {
+        this.completed = completed;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+        this.updatedFrom = updatedFrom;
+        this.updatedTo = updatedTo;
+        this.descending = descending;
+    }
+
+    /**
+     * Sin filtros, orden ascendente por (created_at, id)
+     */
+    public static TaskFilter none() {
+        return new TaskFilter(null, null, null, null, null, false);
+    }
+
+    public Boolean getCompleted() {
+        return this.completed;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return this.createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return this.createdTo;
+    }
+
+    public LocalDateTime getUpdatedFrom() {
+        return this.updatedFrom;
+    }
+
+    public LocalDateTime getUpdatedTo() {
+        return this.updatedTo;
+    }
+
+    public boolean isDescending() {
+        return this.descending;
+    }
+
+    // Forma parte de la clave de la cache de primeras páginas
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TaskFilter filter)) {
+            return false;
+        }
+        return this.descending == filter.descending
+                && Objects.equals(this.completed, filter.completed)
+                && Objects.equals(this.createdFrom, filter.createdFrom)
+                && Objects.equals(this.createdTo, filter.createdTo)
+                && Objects.equals(this.updatedFrom, filter.updatedFrom)
+                && Objects.equals(this.updatedTo, filter.updatedTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(completed, createdFrom, createdTo, updatedFrom, updatedTo, descending);
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+public final class TokenHashUtils {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final int OPAQUE_TOKEN_BYTES = 32;
+
+    private TokenHashUtils() {
+    }
+
+    /**
+     * Calcula el SHA-256 (32 bytes) de un token
+     */
+    public static byte[] sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Representación hexadecimal del hash, usada como clave de cache
+     */
+    public static String toHex(byte[] hash) {
+        return HEX.formatHex(hash);
+    }
+
+    /**
+     * Genera un token opaco aleatorio (256 bits, Base64 URL) para usar como refresh token
+     */
+    public static String randomToken() {
+        byte[] bytes = new byte[OPAQUE_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
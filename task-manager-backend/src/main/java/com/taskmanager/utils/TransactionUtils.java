@@ -0,0 +1,53 @@
+package com.taskmanager.utils;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    /**
+     * Ejecuta la acción al terminar la transacción activa (commit o rollback); sin transacción no hace nada.
+     * Sirve para repetir una invalidación de cache, ya que un request concurrente puede volver a
+     * cachear el estado previo antes del commit
+     */
+    public static void afterCompletion(TransactionSynchronizationRegistry registry, Runnable action) {
+        if (registry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            registry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Ejecuta la acción solo si la transacción activa hace commit; sin transacción la ejecuta en el momento
+     */
+    public static void afterCommit(TransactionSynchronizationRegistry registry, Runnable action) {
+        if (registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            action.run();
+            return;
+        }
+        registry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
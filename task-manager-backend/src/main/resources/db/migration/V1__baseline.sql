@@ -0,0 +1,60 @@
+-- ========================================
+-- V1: esquema base
+-- ========================================
+-- Esquema completo equivalente a scripts/migrations 002-019 sobre el esquema que generaba
+-- hibernate (database.generation=update). Las bases existentes no ejecutan este script:
+-- Flyway las marca en la versión 1 (quarkus.flyway.baseline-on-migrate)
+
+CREATE TABLE tbl_user (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    last_updated DATETIME(6) NULL,
+    active BIT NOT NULL,
+    token_epoch BIGINT NOT NULL DEFAULT 0,
+    task_version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    -- findByEmail (natural id) en login, logout y refresh
+    CONSTRAINT uk_user_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE tbl_task (
+    id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL,
+    completed BIT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES tbl_user (id)
+) ENGINE = InnoDB;
+
+-- Keyset (created_at, id) por usuario; también sirve de índice de la FK
+CREATE INDEX idx_task_user_created_at ON tbl_task (user_id, created_at, id);
+
+-- Lista filtrada por completed y por rango de updated_at
+CREATE INDEX idx_task_user_completed_created_at ON tbl_task (user_id, completed, created_at, id);
+CREATE INDEX idx_task_user_updated_at ON tbl_task (user_id, updated_at);
+
+-- Secuencia emulada de Task.id (pooled, allocationSize = 50)
+CREATE TABLE tbl_task_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO tbl_task_seq (next_val) VALUES (1);
+
+CREATE TABLE tbl_token (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    access_token_hash BINARY(32) NOT NULL,
+    refresh_token_hash BINARY(32) NULL,
+    logged_out BIT NOT NULL,
+    created_at DATETIME(6) NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    -- Búsqueda del token en cada request y del refresh token al renovar
+    CONSTRAINT uk_token_access_token_hash UNIQUE (access_token_hash),
+    CONSTRAINT uk_token_refresh_token_hash UNIQUE (refresh_token_hash),
+    CONSTRAINT fk_token_user FOREIGN KEY (user_id) REFERENCES tbl_user (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- ========================================
+-- V2: directorio de shards de tareas
+-- ========================================
+-- Datasource donde viven las tareas de cada usuario (ver tasks.shards). Los usuarios con tareas
+-- quedan en el datasource por defecto; los demás se ubican por hash en su primera escritura
+ALTER TABLE tbl_user ADD COLUMN task_shard VARCHAR(64) NULL;
+
+UPDATE tbl_user SET task_shard = '<default>'
+WHERE id IN (SELECT DISTINCT user_id FROM tbl_task);
@@ -0,0 +1,7 @@
+-- ========================================
+-- V3: epoch del usuario en cada refresh token
+-- ========================================
+-- Con jwt.revocation.epoch-enabled un refresh token solo es válido si su epoch coincide con el del
+-- usuario: login y logout no marcan las filas de tbl_token. Las filas anteriores quedan en NULL y,
+-- en ese modo, piden un nuevo login
+ALTER TABLE tbl_token ADD COLUMN token_epoch BIGINT NULL;
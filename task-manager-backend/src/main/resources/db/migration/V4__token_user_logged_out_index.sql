@@ -0,0 +1,20 @@
+-- ========================================
+-- V4: índice de revocación de sesiones en tbl_token
+-- ========================================
+-- Revocación de las sesiones activas de un usuario (login, logout, reuso de refresh token).
+-- Las bases existentes se marcan en V1 sin ejecutarlo, así que el índice va en su propia versión.
+-- MySQL no admite CREATE INDEX IF NOT EXISTS: se crea solo si no existe ya (p. ej. creado a mano)
+SET @index_exists = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'tbl_token'
+      AND index_name = 'idx_token_user_logged_out'
+);
+
+SET @create_index = IF(@index_exists = 0,
+    'CREATE INDEX idx_token_user_logged_out ON tbl_token (user_id, logged_out)',
+    'DO 0');
+
+PREPARE create_index_stmt FROM @create_index;
+EXECUTE create_index_stmt;
+DEALLOCATE PREPARE create_index_stmt;
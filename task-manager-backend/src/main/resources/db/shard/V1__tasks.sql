@@ -0,0 +1,31 @@
+-- ========================================
+-- V1: esquema de un shard de tareas
+-- ========================================
+-- Solo tbl_task y su secuencia: tbl_user vive en el datasource por defecto, así que no hay FK.
+-- Cada shard arranca su secuencia en un rango propio (placeholder task_id_start) para que los ids
+-- no choquen al mover las tareas de un usuario entre shards
+
+CREATE TABLE tbl_task (
+    id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL,
+    completed BIT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Keyset (created_at, id) por usuario
+CREATE INDEX idx_task_user_created_at ON tbl_task (user_id, created_at, id);
+
+-- Lista filtrada por completed y por rango de updated_at
+CREATE INDEX idx_task_user_completed_created_at ON tbl_task (user_id, completed, created_at, id);
+CREATE INDEX idx_task_user_updated_at ON tbl_task (user_id, updated_at);
+
+-- Secuencia emulada de Task.id (pooled, allocationSize = 50)
+CREATE TABLE tbl_task_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO tbl_task_seq (next_val) VALUES (${task_id_start});
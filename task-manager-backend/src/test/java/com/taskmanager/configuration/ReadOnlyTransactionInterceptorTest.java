@@ -0,0 +1,139 @@
+package com.taskmanager.configuration;
+
+import java.util.concurrent.Callable;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.TransactionRunnerOptions;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadOnlyTransactionInterceptor Unit Tests")
+class ReadOnlyTransactionInterceptorTest {
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Mock
+    private InvocationContext context;
+
+    @InjectMocks
+    private ReadOnlyTransactionInterceptor interceptor;
+
+    private MockedStatic<QuarkusTransaction> quarkusTransaction;
+
+    private TransactionRunnerOptions runner;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() throws Exception {
+        // La transacción nueva ejecuta el bloque en el hilo del test
+        runner = mock(TransactionRunnerOptions.class);
+        lenient().when(runner.call(any())).thenAnswer(invocation -> invocation.<Callable<?>>getArgument(0).call());
+        quarkusTransaction = mockStatic(QuarkusTransaction.class);
+        quarkusTransaction.when(QuarkusTransaction::requiringNew).thenReturn(runner);
+
+        lenient().when(context.proceed()).thenReturn("result");
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        quarkusTransaction.close();
+    }
+
+    @Test
+    @DisplayName("Should join an active transaction without changing its session")
+    void shouldJoinActiveTransaction() throws Exception {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        // When
+        Object result = interceptor.readOnly(context);
+
+        // Then
+        assertThat(result).isEqualTo("result");
+        quarkusTransaction.verify(QuarkusTransaction::requiringNew, never());
+        verify(transactionRegistry, never()).putResource(any(), any());
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    @DisplayName("Should start a read-only transaction with manual flush when none is active")
+    void shouldStartReadOnlyTransaction() throws Exception {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // When
+        Object result = interceptor.readOnly(context);
+
+        // Then: la sesión se configura dentro de la transacción nueva y antes de invocar el método
+        assertThat(result).isEqualTo("result");
+        InOrder inOrder = inOrder(runner, transactionRegistry, session, context);
+        inOrder.verify(runner).call(any());
+        inOrder.verify(transactionRegistry).putResource(anyString(), eq(Boolean.TRUE));
+        inOrder.verify(session).setDefaultReadOnly(true);
+        inOrder.verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+        inOrder.verify(context).proceed();
+    }
+
+    @Test
+    @DisplayName("Should start a new transaction when the current one is marked for rollback")
+    void shouldNotJoinTransactionMarkedForRollback() throws Exception {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_MARKED_ROLLBACK);
+
+        // When
+        interceptor.readOnly(context);
+
+        // Then
+        verify(runner).call(any());
+        verify(session).setDefaultReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Should report read-only only inside a transaction started by the interceptor")
+    void shouldReportReadOnlyTransaction() {
+        // Given
+        when(transactionRegistry.getTransactionKey()).thenReturn(new Object());
+        when(transactionRegistry.getResource(anyString())).thenReturn(Boolean.TRUE);
+
+        // When / Then
+        assertThat(ReadOnlyTransactionInterceptor.isReadOnly(transactionRegistry)).isTrue();
+
+        // Given: sin transacción no se consulta el recurso
+        when(transactionRegistry.getTransactionKey()).thenReturn(null);
+
+        // When / Then
+        assertThat(ReadOnlyTransactionInterceptor.isReadOnly(transactionRegistry)).isFalse();
+    }
+}
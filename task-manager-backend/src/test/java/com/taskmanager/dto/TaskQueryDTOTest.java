@@ -0,0 +1,116 @@
+package com.taskmanager.dto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
+
+@DisplayName("TaskQueryDTO Unit Tests")
+class TaskQueryDTOTest {
+
+    private TaskQueryDTO query;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        query = new TaskQueryDTO();
+        query.setLimit(50);
+        query.setSort("asc");
+    }
+
+    @Test
+    @DisplayName("Should parse ISO-8601 dates, completed and sort into the filter")
+    void shouldBuildFilterFromParams() {
+        // Given
+        query.setCompleted(true);
+        query.setCreatedFrom("2025-01-01T00:00:00");
+        query.setCreatedTo("2025-02-01T00:00");
+        query.setUpdatedFrom("2025-01-15T10:30:00.5");
+        query.setSort("desc");
+
+        // When
+        TaskFilter filter = query.toFilter();
+
+        // Then
+        assertThat(filter.getCompleted()).isTrue();
+        assertThat(filter.getCreatedFrom()).isEqualTo(LocalDateTime.of(2025, 1, 1, 0, 0));
+        assertThat(filter.getCreatedTo()).isEqualTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+        assertThat(filter.getUpdatedFrom()).isEqualTo(LocalDateTime.of(2025, 1, 15, 10, 30, 0, 500_000_000));
+        assertThat(filter.getUpdatedTo()).isNull();
+        assertThat(filter.isDescending()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat blank dates as no filter")
+    void shouldIgnoreBlankDates() {
+        // Given
+        query.setCreatedFrom(" ");
+
+        // When
+        TaskFilter filter = query.toFilter();
+
+        // Then
+        assertThat(filter).isEqualTo(TaskFilter.none());
+    }
+
+    @Test
+    @DisplayName("Should reject a date that is not ISO-8601 naming the parameter")
+    void shouldRejectInvalidDate() {
+        // Given
+        query.setUpdatedTo("01/02/2025");
+
+        // When & Then: el controlador responde 400 con este mensaje
+        assertThatThrownBy(() -> query.toFilter())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid date for updated_to: 01/02/2025");
+    }
+
+    @Test
+    @DisplayName("Should decode a cursor issued for the same sort")
+    void shouldDecodeCursorOfSameSort() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+        query.setSort("desc");
+        query.setCursor(new TaskCursor(createdAt, 42L, true).encode());
+
+        // When
+        TaskCursor cursor = query.toCursor();
+
+        // Then
+        assertThat(cursor.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(cursor.getId()).isEqualTo(42L);
+        assertThat(cursor.isDescending()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for the other sort")
+    void shouldRejectCursorOfOtherSort() {
+        // Given
+        query.setCursor(new TaskCursor(LocalDateTime.of(2025, 1, 1, 12, 0), 42L, true).encode());
+
+        // When & Then
+        assertThatThrownBy(() -> query.toCursor())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort=desc");
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor and treat a missing one as the first page")
+    void shouldRejectMalformedCursor() {
+        // Given
+        query.setCursor("not-a-cursor");
+
+        // When & Then
+        assertThatThrownBy(() -> query.toCursor())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        query.setCursor(null);
+        assertThat(query.toCursor()).isNull();
+    }
+}
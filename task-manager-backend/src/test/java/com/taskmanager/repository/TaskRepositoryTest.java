@@ -0,0 +1,143 @@
+package com.taskmanager.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.Session;
+import org.hibernate.query.QueryProducer;
+import org.hibernate.query.SelectionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.service.IReadRoutingService;
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskRepository Unit Tests")
+class TaskRepositoryTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock
+    private IReadRoutingService readRoutingService;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private QueryProducer queryProducer;
+
+    @Spy
+    @InjectMocks
+    private TaskRepository taskRepository;
+
+    @SuppressWarnings("unchecked")
+    private final SelectionQuery<TaskDTO> select = mock(SelectionQuery.class, Answers.RETURNS_SELF);
+
+    @BeforeEach
+    @SuppressWarnings({"unused", "unchecked"})
+    void setUp() {
+        // La consulta se ejecuta sobre el QueryProducer que elija el enrutado (primario o réplica)
+        doReturn(session).when(taskRepository).getSession();
+        when(readRoutingService.read(eq(1L), eq(session), any())).thenAnswer(invocation ->
+                invocation.<Function<QueryProducer, List<TaskDTO>>>getArgument(2).apply(queryProducer));
+        when(queryProducer.createSelectionQuery(anyString(), eq(TaskDTO.class))).thenReturn(select);
+        doReturn(List.of()).when(select).getResultList();
+    }
+
+    @Test
+    @DisplayName("Should filter by completed and both date ranges as [from, to)")
+    void shouldApplyCompletedAndRangePredicates() {
+        // Given
+        TaskFilter filter = new TaskFilter(false, FROM, TO, FROM, TO, false);
+
+        // When
+        taskRepository.findPageByUserId(1L, filter, null, 51);
+
+        // Then
+        String hql = capturedQuery();
+        assertThat(hql).contains("t.userId = :userId", "t.completed = :completed",
+                "t.createdAt >= :createdFrom", "t.createdAt < :createdTo",
+                "t.updatedAt >= :updatedFrom", "t.updatedAt < :updatedTo");
+        assertThat(hql).doesNotContain(":afterId");
+        assertThat(hql).endsWith("order by t.createdAt asc, t.id asc");
+        verify(select).setParameter("completed", false);
+        verify(select).setParameter("createdFrom", FROM);
+        verify(select).setParameter("createdTo", TO);
+        verify(select).setParameter("updatedFrom", FROM);
+        verify(select).setParameter("updatedTo", TO);
+        verify(select).setMaxResults(51);
+    }
+
+    @Test
+    @DisplayName("Should add no predicate for an empty filter")
+    void shouldNotFilterWithoutCriteria() {
+        // When
+        taskRepository.findPageByUserId(1L, TaskFilter.none(), null, 51);
+
+        // Then
+        assertThat(capturedQuery()).doesNotContain("t.completed =", ":createdFrom", ":updatedFrom", ":afterCreatedAt");
+        verify(select, never()).setParameter(eq("completed"), any());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor with > when ascending")
+    void shouldUseGreaterThanAfterCursorAscending() {
+        // Given
+        TaskCursor cursor = new TaskCursor(FROM, 10L, false);
+
+        // When
+        taskRepository.findPageByUserId(1L, TaskFilter.none(), cursor, 51);
+
+        // Then
+        assertThat(capturedQuery())
+                .contains("(t.createdAt > :afterCreatedAt or (t.createdAt = :afterCreatedAt and t.id > :afterId))")
+                .endsWith("order by t.createdAt asc, t.id asc");
+        verify(select).setParameter("afterCreatedAt", FROM);
+        verify(select).setParameter("afterId", 10L);
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor with < and order descending when sorting desc")
+    void shouldUseLessThanAfterCursorDescending() {
+        // Given
+        TaskFilter filter = new TaskFilter(null, null, null, null, null, true);
+        TaskCursor cursor = new TaskCursor(FROM, 10L, true);
+
+        // When
+        taskRepository.findPageByUserId(1L, filter, cursor, 51);
+
+        // Then
+        assertThat(capturedQuery())
+                .contains("(t.createdAt < :afterCreatedAt or (t.createdAt = :afterCreatedAt and t.id < :afterId))")
+                .endsWith("order by t.createdAt desc, t.id desc");
+    }
+
+    private String capturedQuery() {
+        ArgumentCaptor<String> hql = ArgumentCaptor.forClass(String.class);
+        verify(queryProducer).createSelectionQuery(hql.capture(), eq(TaskDTO.class));
+        return hql.getValue();
+    }
+}
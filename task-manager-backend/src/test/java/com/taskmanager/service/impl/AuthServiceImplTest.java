@@ -11,19 +11,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mindrot.jbcrypt.BCrypt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.taskmanager.dto.AuthResponseDTO;
-import com.taskmanager.model.Token;
-import com.taskmanager.model.User;
+import com.taskmanager.dto.UserCredentialsDTO;
+import com.taskmanager.model.user.Token;
+import com.taskmanager.model.user.User;
 import com.taskmanager.repository.TokenRepository;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.service.IJwtService;
+import com.taskmanager.service.IPasswordHashService;
+import com.taskmanager.service.ITaskEventService;
+import com.taskmanager.service.ITokenCacheService;
+import com.taskmanager.utils.TokenHashUtils;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("AuthServiceImpl Unit Tests")
@@ -38,6 +47,15 @@ class AuthServiceImplTest {
     @Mock
     private IJwtService jwtService;
 
+    @Mock
+    private ITokenCacheService tokenCacheService;
+
+    @Mock
+    private IPasswordHashService passwordHashService;
+
+    @Mock
+    private ITaskEventService taskEventService;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -58,6 +76,10 @@ class AuthServiceImplTest {
         existingUser.setEmail("existing@example.com");
         existingUser.setPassword(BCrypt.hashpw("password123", BCrypt.gensalt()));
         existingUser.setActive(true);
+
+        // Las columnas de autenticación se leen de la BD; por defecto coinciden con la entidad cacheada
+        lenient().when(userRepository.findCredentialsById(1L)).thenAnswer(invocation -> Optional.of(new UserCredentialsDTO(
+                existingUser.getPassword(), existingUser.getActive(), existingUser.getTokenEpoch())));
     }
 
     @Test
@@ -65,7 +87,8 @@ class AuthServiceImplTest {
     void shouldRegisterUserSuccessfully() {
         // Given
         when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
-        doNothing().when(userRepository).persist(any(User.class));
+        when(passwordHashService.hash("password123")).thenAnswer(i -> BCrypt.hashpw("password123", BCrypt.gensalt()));
+        doNothing().when(userRepository).save(any(User.class));
 
         // When
         User result = authService.register(testUser);
@@ -78,7 +101,8 @@ class AuthServiceImplTest {
         assertThat(BCrypt.checkpw("password123", result.getPassword())).isTrue();
         
         verify(userRepository).findByEmail("test@example.com");
-        verify(userRepository).persist(any(User.class));
+        verify(passwordHashService).hash("password123");
+        verify(userRepository).save(any(User.class));
     }
 
     @Test
@@ -101,9 +125,9 @@ class AuthServiceImplTest {
         // Given
         String mockToken = "mock-jwt-token-123456";
         when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
-        when(jwtService.generateToken(existingUser)).thenReturn(mockToken);
-        when(tokenRepository.invalidateAllTokensForUser(anyLong())).thenReturn(1);
-        doNothing().when(tokenRepository).persist(any(Token.class));
+        when(passwordHashService.verify("password123", existingUser.getPassword())).thenReturn(true);
+        when(jwtService.generateToken(existingUser, 0L)).thenReturn(mockToken);
+        doNothing().when(tokenRepository).replaceTokensForUser(anyLong(), any(Token.class));
 
         User loginUser = new User();
         loginUser.setEmail("existing@example.com");
@@ -115,12 +139,21 @@ class AuthServiceImplTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getAccessToken()).isEqualTo(mockToken);
+        assertThat(result.getRefreshToken()).isNotBlank();
         assertThat(result.getMessage()).isEqualTo("Login successful");
 
         verify(userRepository).findByEmail("existing@example.com");
-        verify(jwtService).generateToken(existingUser);
-        verify(tokenRepository).invalidateAllTokensForUser(1L);
-        verify(tokenRepository).persist(any(Token.class));
+        verify(jwtService).generateToken(existingUser, 0L);
+        verify(tokenCacheService).invalidateUser(1L);
+        verify(taskEventService).closeUser(1L);
+
+        ArgumentCaptor<Token> tokenCaptor = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository).replaceTokensForUser(eq(1L), tokenCaptor.capture());
+        assertThat(tokenCaptor.getValue().getAccessTokenHash())
+                .hasSize(32)
+                .isEqualTo(TokenHashUtils.sha256(mockToken));
+        assertThat(tokenCaptor.getValue().getRefreshTokenHash())
+                .isEqualTo(TokenHashUtils.sha256(result.getRefreshToken()));
     }
 
     @Test
@@ -166,6 +199,7 @@ class AuthServiceImplTest {
     void shouldThrowExceptionWithWrongPassword() {
         // Given
         when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
+        when(passwordHashService.verify("wrongpassword", existingUser.getPassword())).thenReturn(false);
 
         User loginUser = new User();
         loginUser.setEmail("existing@example.com");
@@ -193,6 +227,8 @@ class AuthServiceImplTest {
         // Then
         verify(userRepository).findByEmail(email);
         verify(tokenRepository).invalidateAllTokensForUser(1L);
+        verify(tokenCacheService).invalidateUser(1L);
+        verify(taskEventService).closeUser(1L);
     }
 
     @Test
@@ -210,4 +246,201 @@ class AuthServiceImplTest {
 
         verify(userRepository).findByEmail(email);
     }
+
+    @Test
+    @DisplayName("Should login with epoch revocation and store only the refresh token row")
+    void shouldLoginWithEpochRevocation() {
+        // Given
+        authService.epochRevocationEnabled = true;
+        existingUser.setTokenEpoch(4L);
+        when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
+        when(passwordHashService.verify("password123", existingUser.getPassword())).thenReturn(true);
+        when(userRepository.incrementAndGetTokenEpoch(1L)).thenReturn(Optional.of(5L));
+        when(jwtService.generateToken(existingUser, 5L)).thenReturn("epoch-token");
+
+        User loginUser = new User();
+        loginUser.setEmail("existing@example.com");
+        loginUser.setPassword("password123");
+
+        // When
+        AuthResponseDTO result = authService.login(loginUser);
+
+        // Then
+        assertThat(result.getAccessToken()).isEqualTo("epoch-token");
+        verify(userRepository).incrementAndGetTokenEpoch(1L);
+        verify(tokenCacheService).invalidateTokenEpoch("existing@example.com");
+
+        ArgumentCaptor<Token> tokenCaptor = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository).save(tokenCaptor.capture());
+        assertThat(tokenCaptor.getValue().getTokenEpoch()).isEqualTo(5L);
+        verify(tokenRepository, never()).replaceTokensForUser(anyLong(), any(Token.class));
+        verify(tokenRepository, never()).invalidateAllTokensForUser(anyLong());
+        verify(taskEventService).closeUser(1L);
+    }
+
+    @Test
+    @DisplayName("Should sign each of two interleaved logins with the epoch stored by its own increment")
+    void shouldSignInterleavedLoginsWithStoredEpoch() {
+        // Given: los dos logins leyeron el usuario con epoch 4 antes de que ninguno incrementara
+        authService.epochRevocationEnabled = true;
+        existingUser.setTokenEpoch(4L);
+        when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
+        when(passwordHashService.verify("password123", existingUser.getPassword())).thenReturn(true);
+        when(userRepository.incrementAndGetTokenEpoch(1L)).thenReturn(Optional.of(5L), Optional.of(6L));
+        when(jwtService.generateToken(existingUser, 5L)).thenReturn("first-token");
+        when(jwtService.generateToken(existingUser, 6L)).thenReturn("second-token");
+
+        User loginUser = new User();
+        loginUser.setEmail("existing@example.com");
+        loginUser.setPassword("password123");
+
+        // When
+        AuthResponseDTO first = authService.login(loginUser);
+        AuthResponseDTO second = authService.login(loginUser);
+
+        // Then: el último token firmado lleva el epoch que quedó en la BD
+        assertThat(first.getAccessToken()).isEqualTo("first-token");
+        assertThat(second.getAccessToken()).isEqualTo("second-token");
+        verify(jwtService, never()).generateToken(existingUser, 4L);
+    }
+
+    @Test
+    @DisplayName("Should logout with epoch revocation without loading the user")
+    void shouldLogoutWithEpochRevocation() {
+        // Given
+        authService.epochRevocationEnabled = true;
+        String email = "existing@example.com";
+        when(userRepository.incrementTokenEpochByEmail(email)).thenReturn(1);
+        when(userRepository.findIdByEmail(email)).thenReturn(Optional.of(1L));
+
+        // When
+        authService.logout(email);
+
+        // Then
+        verify(userRepository).incrementTokenEpochByEmail(email);
+        verify(tokenCacheService).invalidateTokenEpoch(email);
+        verify(taskEventService).closeUser(1L);
+        verify(userRepository, never()).findByEmail(email);
+        verify(tokenRepository, never()).invalidateAllTokensForUser(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token without checking the password")
+    void shouldRotateRefreshToken() {
+        // Given
+        authService.refreshExpirationTime = 3600;
+        Token current = new Token();
+        current.setUser(existingUser);
+        current.prePersist();
+        when(tokenRepository.findByRefreshTokenHash(TokenHashUtils.sha256("refresh-1"))).thenReturn(Optional.of(current));
+        when(jwtService.generateToken(existingUser, 0L)).thenReturn("new-access-token");
+        when(tokenRepository.rotateToken(any(), any(Token.class))).thenReturn(true);
+
+        // When
+        AuthResponseDTO result = authService.refresh("refresh-1");
+
+        // Then
+        assertThat(result.getAccessToken()).isEqualTo("new-access-token");
+        assertThat(result.getRefreshToken()).isNotBlank().isNotEqualTo("refresh-1");
+
+        ArgumentCaptor<Token> tokenCaptor = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository).rotateToken(any(), tokenCaptor.capture());
+        assertThat(tokenCaptor.getValue().getRefreshTokenHash())
+                .isEqualTo(TokenHashUtils.sha256(result.getRefreshToken()));
+        verify(tokenCacheService).invalidateUser(1L);
+        verify(taskEventService).closeUser(1L);
+        verify(passwordHashService, never()).verify(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should revoke all sessions when the refresh token was already consumed")
+    void shouldRevokeAllSessionsOnRefreshTokenReuse() {
+        // Given
+        authService.refreshExpirationTime = 3600;
+        Token consumed = new Token();
+        consumed.setUser(existingUser);
+        consumed.prePersist();
+        when(tokenRepository.findByRefreshTokenHash(TokenHashUtils.sha256("refresh-1"))).thenReturn(Optional.of(consumed));
+        when(jwtService.generateToken(existingUser, 0L)).thenReturn("new-access-token");
+        when(tokenRepository.rotateToken(any(), any(Token.class))).thenReturn(false);
+        when(tokenRepository.invalidateAllTokensForUser(1L)).thenReturn(1);
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh("refresh-1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid refresh token");
+
+        verify(tokenRepository).invalidateAllTokensForUser(1L);
+        verify(tokenCacheService).invalidateUser(1L);
+        verify(taskEventService).closeUser(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token issued before the last epoch increment")
+    void shouldRejectRefreshTokenWithStaleEpoch() {
+        // Given: el usuario hizo logout (epoch 3 -> 4) después de emitirse el refresh token
+        authService.epochRevocationEnabled = true;
+        authService.refreshExpirationTime = 3600;
+        existingUser.setTokenEpoch(4L);
+        Token stale = new Token();
+        stale.setUser(existingUser);
+        stale.setTokenEpoch(3L);
+        stale.prePersist();
+        when(tokenRepository.findByRefreshTokenHash(TokenHashUtils.sha256("refresh-1"))).thenReturn(Optional.of(stale));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh("refresh-1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid refresh token");
+
+        verify(tokenRepository, never()).rotateToken(any(), any(Token.class));
+        verify(tokenRepository, never()).invalidateAllTokensForUser(anyLong());
+        verify(userRepository, never()).incrementTokenEpoch(anyLong());
+        verify(taskEventService, never()).closeUser(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token revoked on another instance while the cached user still matches it")
+    void shouldRejectRefreshTokenRevokedOnAnotherInstance() {
+        // Given: la entidad cacheada conserva el epoch 3, la BD ya tiene el 4 tras un logout en otra instancia
+        authService.epochRevocationEnabled = true;
+        authService.refreshExpirationTime = 3600;
+        existingUser.setTokenEpoch(3L);
+        Token issued = new Token();
+        issued.setUser(existingUser);
+        issued.setTokenEpoch(3L);
+        issued.prePersist();
+        when(tokenRepository.findByRefreshTokenHash(TokenHashUtils.sha256("refresh-1"))).thenReturn(Optional.of(issued));
+        when(userRepository.findCredentialsById(1L))
+                .thenReturn(Optional.of(new UserCredentialsDTO(existingUser.getPassword(), true, 4L)));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh("refresh-1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid refresh token");
+
+        verify(jwtService, never()).generateToken(any(), anyLong());
+        verify(tokenRepository, never()).rotateToken(any(), any(Token.class));
+    }
+
+    @Test
+    @DisplayName("Should reject the login of a user deactivated on another instance while the cached user is active")
+    void shouldRejectLoginOfUserDeactivatedOnAnotherInstance() {
+        // Given
+        when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
+        when(userRepository.findCredentialsById(1L))
+                .thenReturn(Optional.of(new UserCredentialsDTO(existingUser.getPassword(), false, 0L)));
+
+        User loginUser = new User();
+        loginUser.setEmail("existing@example.com");
+        loginUser.setPassword("password123");
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginUser))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid Credentials");
+
+        verify(passwordHashService, never()).verify(any(), any());
+        verify(jwtService, never()).generateToken(any(), anyLong());
+    }
 }
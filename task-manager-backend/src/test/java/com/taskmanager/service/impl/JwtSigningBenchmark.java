@@ -0,0 +1,119 @@
+package com.taskmanager.service.impl;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskmanager.utils.JwtUtils;
+
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.build.Jwt;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+/**
+ * Throughput de firma y verificación del JWT para cada valor de jwt.signature.algorithm,
+ * con los mismos claims que JwtServiceImpl. El tamaño del token sale como la columna tokenBytes de signToken.
+ *
+ * Ejecutar con: mvn -Pbenchmark test -DskipTests -Dbenchmark=JwtSigningBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final String ISSUER = "https://task-manager.com";
+
+    @Param({"RS256", "ES256", "EDDSA"})
+    public String algorithm;
+
+    private SignatureAlgorithm signatureAlgorithm;
+    private KeyPair keyPair;
+    private JWTParser jwtParser;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        signatureAlgorithm = SignatureAlgorithm.fromAlgorithm(algorithm);
+        keyPair = generateKeyPair(signatureAlgorithm);
+
+        JWTAuthContextInfo contextInfo = new JWTAuthContextInfo(keyPair.getPublic(), ISSUER);
+        contextInfo.setSignatureAlgorithm(Set.of(signatureAlgorithm));
+        jwtParser = new DefaultJWTParser(contextInfo);
+
+        token = sign();
+    }
+
+    /**
+     * Contador auxiliar de JMH: se reporta junto al throughput en vez de escribir en la salida del benchmark
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TokenSize {
+        public long tokenBytes;
+    }
+
+    @Benchmark
+    public String signToken(TokenSize size) {
+        String signed = sign();
+        size.tokenBytes = signed.length();
+        return signed;
+    }
+
+    @Benchmark
+    public JsonWebToken verifyToken() throws Exception {
+        return jwtParser.parse(token);
+    }
+
+    private String sign() {
+        return Jwt.issuer(ISSUER)
+                .upn("user@example.com")
+                .subject("user@example.com")
+                .claim("name", "Benchmark User")
+                .claim(JwtUtils.TOKEN_EPOCH_CLAIM, 0L)
+                .groups(Set.of("user"))
+                .expiresIn(Duration.ofHours(1))
+                .jws()
+                .algorithm(signatureAlgorithm)
+                .sign(keyPair.getPrivate());
+    }
+
+    private static KeyPair generateKeyPair(SignatureAlgorithm algorithm) throws Exception {
+        switch (algorithm) {
+            case ES256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                return generator.generateKeyPair();
+            }
+            case EDDSA -> {
+                return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            }
+            default -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                return generator.generateKeyPair();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginRateLimitServiceImpl Unit Tests")
+class LoginRateLimitServiceImplTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private LoginRateLimitServiceImpl loginRateLimitService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        loginRateLimitService.emailCapacity = 2;
+        loginRateLimitService.emailRefillPerMinute = 1;
+        loginRateLimitService.ipCapacity = 3;
+        loginRateLimitService.ipRefillPerMinute = 1;
+        loginRateLimitService.maxKeys = 100;
+        loginRateLimitService.expireAfter = 600;
+        loginRateLimitService.maxConcurrent = 10;
+        loginRateLimitService.init();
+    }
+
+    @Test
+    @DisplayName("Should reject an email once its bucket is empty")
+    void shouldRejectEmailOverLimit() {
+        // Given
+        acquireAndRelease("test@example.com", "10.0.0.1");
+        acquireAndRelease("TEST@example.com", "10.0.0.2");
+
+        // When & Then
+        assertThatThrownBy(() -> loginRateLimitService.acquire("test@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("Too many login attempts")
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(meterRegistry.get("auth.login.rejected").tag("reason", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a client address once its bucket is empty")
+    void shouldRejectAddressOverLimit() {
+        // Given
+        acquireAndRelease("a@example.com", "10.0.0.1");
+        acquireAndRelease("b@example.com", "10.0.0.1");
+        acquireAndRelease("c@example.com", "10.0.0.1");
+
+        // When & Then
+        assertThatThrownBy(() -> loginRateLimitService.acquire("d@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginRateLimitService.acquire("d@example.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.rejected").tag("reason", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cap concurrent logins until a slot is released")
+    void shouldCapConcurrentLogins() {
+        // Given
+        loginRateLimitService.maxConcurrent = 1;
+        loginRateLimitService.init();
+        loginRateLimitService.acquire("a@example.com", "10.0.0.1");
+
+        // When & Then
+        assertThatThrownBy(() -> loginRateLimitService.acquire("b@example.com", "10.0.0.2"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("Server is busy");
+        loginRateLimitService.release();
+        assertThatCode(() -> loginRateLimitService.acquire("c@example.com", "10.0.0.3"))
+                .doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.rejected").tag("reason", "concurrency").counter().count()).isEqualTo(1);
+    }
+
+    private void acquireAndRelease(String email, String clientAddress) {
+        loginRateLimitService.acquire(email, clientAddress);
+        loginRateLimitService.release();
+    }
+}
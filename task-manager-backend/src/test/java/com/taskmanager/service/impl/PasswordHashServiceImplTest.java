@@ -0,0 +1,65 @@
+package com.taskmanager.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PasswordHashServiceImpl Unit Tests")
+class PasswordHashServiceImplTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private PasswordHashServiceImpl passwordHashService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        passwordHashService.poolSize = 2;
+        passwordHashService.queueSize = 4;
+        passwordHashService.init();
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        passwordHashService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the hashing executor")
+    void shouldHashAndVerifyPasswords() {
+        // When
+        String hashed = passwordHashService.hash("password123");
+
+        // Then
+        assertThat(BCrypt.checkpw("password123", hashed)).isTrue();
+        assertThat(passwordHashService.verify("password123", hashed)).isTrue();
+        assertThat(passwordHashService.verify("wrongpassword", hashed)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should export hash latency and queue depth metrics")
+    void shouldExportMetrics() {
+        // When
+        String hashed = passwordHashService.hash("password123");
+        passwordHashService.verify("password123", hashed);
+
+        // Then
+        assertThat(meterRegistry.get("auth.hashing.duration").tag("operation", "hash").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.hashing.duration").tag("operation", "verify").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.hashing.queue.depth").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadRoutingServiceImpl Unit Tests")
+class ReadRoutingServiceImplTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private AgroalDataSource replicaDataSource;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @InjectMocks
+    private ReadRoutingServiceImpl readRoutingService;
+
+    private void init(boolean enabled) {
+        readRoutingService.enabled = enabled;
+        readRoutingService.readYourWritesSeconds = 5;
+        readRoutingService.maxPinnedUsers = 100;
+        readRoutingService.init();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary session when routing is disabled")
+    void shouldReadFromPrimaryWhenDisabled() {
+        // Given
+        init(false);
+
+        // When
+        Object producer = readRoutingService.read(1L, session, primary -> primary);
+
+        // Then
+        assertThat(producer).isSameAs(session);
+        assertThat(meterRegistry.counter("tasks.reads", "target", "primary").count()).isEqualTo(1.0);
+        verifyNoInteractions(replicaDataSource);
+    }
+
+    @Test
+    @DisplayName("Should pin a user to the primary after a write")
+    void shouldPinUserToPrimaryAfterWrite() {
+        // Given
+        init(true);
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // When
+        readRoutingService.pinToPrimary(1L);
+        Object producer = readRoutingService.read(1L, session, primary -> primary);
+
+        // Then
+        assertThat(producer).isSameAs(session);
+        assertThat(meterRegistry.counter("tasks.reads", "target", "replica").count()).isZero();
+        verifyNoInteractions(replicaDataSource);
+    }
+}
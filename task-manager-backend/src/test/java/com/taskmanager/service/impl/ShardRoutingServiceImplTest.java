@@ -0,0 +1,148 @@
+package com.taskmanager.service.impl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IShardRoutingService;
+
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardRoutingServiceImpl Unit Tests")
+class ShardRoutingServiceImplTest {
+
+    private static final Object TRANSACTION = new Object();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Mock
+    private Session taskSession;
+
+    @InjectMocks
+    private ShardRoutingServiceImpl shardRoutingService;
+
+    private void init(String... shards) {
+        shardRoutingService.shards = List.of(shards);
+        shardRoutingService.directoryTtl = 30;
+        shardRoutingService.directoryMaxSize = 100;
+        shardRoutingService.init();
+    }
+
+    @Test
+    @DisplayName("Should only move users to a new shard appended to the list")
+    void shouldOnlyMoveUsersToAppendedShard() {
+        // Given
+        long users = 10_000;
+
+        // When
+        long moved = LongStream.rangeClosed(1, users)
+                .filter(userId -> {
+                    int before = ShardRoutingServiceImpl.jumpHash(userId, 3);
+                    int after = ShardRoutingServiceImpl.jumpHash(userId, 4);
+                    assertThat(after == before || after == 3).isTrue();
+                    return after != before;
+                })
+                .count();
+
+        // Then: alrededor de 1/4 de los usuarios pasan al shard nuevo
+        assertThat(moved).isBetween(users / 5, users * 3 / 10);
+    }
+
+    @Test
+    @DisplayName("Should record the placement of a user on the first write and bind it to the transaction")
+    void shouldRecordPlacementOnFirstWrite() {
+        // Given
+        init("shard-a", "shard-b");
+        when(userRepository.lockTaskShardById(7L)).thenReturn(Optional.empty());
+        when(transactionRegistry.getTransactionKey()).thenReturn(TRANSACTION);
+        String placement = shardRoutingService.placementFor(7L);
+
+        // When
+        String shard = shardRoutingService.useShardForWrite(7L);
+
+        // Then
+        assertThat(shard).isEqualTo(placement);
+        verify(userRepository).updateTaskShard(7L, placement);
+        verify(transactionRegistry).putResource(anyString(), eq(placement));
+    }
+
+    @Test
+    @DisplayName("Should read the shard of a user from the cached directory")
+    void shouldReadShardFromCachedDirectory() {
+        // Given
+        init(IShardRoutingService.DEFAULT_SHARD, "shard-b");
+        when(userRepository.findTaskShardById(7L)).thenReturn(Optional.of("shard-old"));
+
+        // When
+        String first = shardRoutingService.useShardForRead(7L);
+        String second = shardRoutingService.useShardForRead(7L);
+
+        // Then
+        assertThat(first).isEqualTo("shard-old");
+        assertThat(second).isEqualTo("shard-old");
+        verify(userRepository, times(1)).findTaskShardById(7L);
+        verify(userRepository, never()).updateTaskShard(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject binding a transaction to a second shard")
+    void shouldRejectSecondShardInTransaction() {
+        // Given
+        init("shard-a", "shard-b");
+        when(userRepository.lockTaskShardById(7L)).thenReturn(Optional.of("shard-b"));
+        when(transactionRegistry.getTransactionKey()).thenReturn(TRANSACTION);
+        when(transactionRegistry.getResource(anyString())).thenReturn("shard-a");
+
+        // When & Then
+        assertThatThrownBy(() -> shardRoutingService.useShardForWrite(7L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shard-a");
+    }
+
+    @Test
+    @DisplayName("Should make the task session read-only after binding the shard in a read-only transaction")
+    void shouldConfigureTaskSessionInReadOnlyTransaction() {
+        // Given
+        init("shard-a", "shard-b");
+        when(userRepository.findTaskShardById(7L)).thenReturn(Optional.of("shard-b"));
+        when(transactionRegistry.getTransactionKey()).thenReturn(TRANSACTION);
+        when(transactionRegistry.getResource(anyString())).thenAnswer(invocation ->
+                invocation.<String>getArgument(0).endsWith(".readOnly") ? Boolean.TRUE : null);
+
+        // When
+        shardRoutingService.useShardForRead(7L);
+
+        // Then: la sesión se toca después de ligar el shard, así resuelve el tenant del usuario
+        InOrder inOrder = inOrder(transactionRegistry, taskSession);
+        inOrder.verify(transactionRegistry).putResource(anyString(), eq("shard-b"));
+        inOrder.verify(taskSession).setDefaultReadOnly(true);
+        verify(taskSession).setHibernateFlushMode(FlushMode.MANUAL);
+    }
+}
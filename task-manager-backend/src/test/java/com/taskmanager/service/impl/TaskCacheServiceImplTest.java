@@ -0,0 +1,165 @@
+package com.taskmanager.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.utils.TaskFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskCacheServiceImpl Unit Tests")
+class TaskCacheServiceImplTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @InjectMocks
+    private TaskCacheServiceImpl taskCacheService;
+
+    private TaskDTO testTask;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        taskCacheService.enabled = true;
+        taskCacheService.maxMemory = 1024 * 1024;
+        taskCacheService.ttl = 300;
+        taskCacheService.init();
+
+        testTask = new TaskDTO(1L, "Test Task", "Test Description", false, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should load the first page once per filter and page size")
+    void shouldServeFirstPageFromCache() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        TaskFilter pending = new TaskFilter(false, null, null, null, null, false);
+
+        // When
+        taskCacheService.getFirstPage(1L, 1L, TaskFilter.none(), 50, () -> {
+            loads.incrementAndGet();
+            return new TaskPageDTO(List.of(testTask), "next");
+        });
+        TaskPageDTO cached = taskCacheService.getFirstPage(1L, 1L, TaskFilter.none(), 50, () -> {
+            loads.incrementAndGet();
+            return new TaskPageDTO(List.of(), null);
+        });
+        taskCacheService.getFirstPage(1L, 1L, pending, 50, () -> {
+            loads.incrementAndGet();
+            return new TaskPageDTO(List.of(), null);
+        });
+        taskCacheService.getFirstPage(1L, 1L, TaskFilter.none(), 20, () -> {
+            loads.incrementAndGet();
+            return new TaskPageDTO(List.of(), null);
+        });
+
+        // Then
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cached.getItems()).containsExactly(testTask);
+        assertThat(cached.getNextCursor()).isEqualTo("next");
+        assertThat(meterRegistry.get("cache.memory.estimate").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should cache existing tasks and not cache missing ones")
+    void shouldCacheSingleTasks() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        taskCacheService.getTask(1L, 1L, 1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(testTask);
+        });
+        Optional<TaskDTO> cached = taskCacheService.getTask(1L, 1L, 1L, Optional::empty);
+        taskCacheService.getTask(1L, 1L, 2L, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        taskCacheService.getTask(1L, 1L, 2L, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        // Then
+        assertThat(cached).contains(testTask);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not serve entries cached under an older task version")
+    void shouldMissEntriesOfOlderVersion() {
+        // Given
+        taskCacheService.getFirstPage(1L, 1L, TaskFilter.none(), 50, () -> new TaskPageDTO(List.of(testTask), null));
+        taskCacheService.getTask(1L, 1L, 1L, () -> Optional.of(testTask));
+
+        // When
+        TaskPageDTO page = taskCacheService.getFirstPage(1L, 2L, TaskFilter.none(), 50, () -> new TaskPageDTO(List.of(), null));
+        Optional<TaskDTO> task = taskCacheService.getTask(1L, 2L, 1L, Optional::empty);
+
+        // Then
+        assertThat(page.getItems()).isEmpty();
+        assertThat(task).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the entries of the given user")
+    void shouldInvalidateEntriesOfUser() {
+        // Given
+        taskCacheService.getFirstPage(1L, 1L, TaskFilter.none(), 50, () -> new TaskPageDTO(List.of(testTask), null));
+        taskCacheService.getTask(2L, 1L, 5L, () -> Optional.of(testTask));
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // When
+        taskCacheService.invalidateUser(1L);
+
+        // Then
+        assertThat(taskCacheService.getFirstPage(1L, 1L, TaskFilter.none(), 50, () -> new TaskPageDTO(List.of(), null)).getItems()).isEmpty();
+        assertThat(taskCacheService.getTask(2L, 1L, 5L, Optional::empty)).contains(testTask);
+    }
+
+    @Test
+    @DisplayName("Should always call the loader when the cache is disabled")
+    void shouldBypassCacheWhenDisabled() {
+        // Given
+        TaskCacheServiceImpl disabled = new TaskCacheServiceImpl();
+        disabled.enabled = false;
+        disabled.init();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            disabled.getFirstPage(1L, 1L, TaskFilter.none(), 50, () -> {
+                loads.incrementAndGet();
+                return new TaskPageDTO(List.of(testTask), null);
+            });
+        }
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(disabled.getHitRatio()).isZero();
+    }
+}
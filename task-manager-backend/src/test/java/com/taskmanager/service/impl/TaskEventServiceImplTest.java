@@ -0,0 +1,185 @@
+package com.taskmanager.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.dto.TaskEventDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskEventServiceImpl Unit Tests")
+class TaskEventServiceImplTest {
+
+    private static final Instant EXPIRES_AT = Instant.now().plus(Duration.ofHours(1));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @InjectMocks
+    private TaskEventServiceImpl taskEventService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        taskEventService.bufferSize = 2;
+        taskEventService.heartbeatSeconds = 3600;
+        taskEventService.init();
+    }
+
+    @Test
+    @DisplayName("Should deliver events only to the streams of the same user")
+    void shouldDeliverEventsToUserStreams() {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        AssertSubscriber<TaskEventDTO> owner = taskEventService.subscribe(1L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(10));
+        AssertSubscriber<TaskEventDTO> other = taskEventService.subscribe(2L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        // When
+        taskEventService.publish(1L, TaskEventDTO.CREATED, 7L);
+
+        // Then
+        assertThat(owner.getItems()).singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getType()).isEqualTo(TaskEventDTO.CREATED);
+                    assertThat(event.getId()).isEqualTo(7L);
+                });
+        assertThat(other.getItems()).isEmpty();
+        assertThat(taskEventService.getSubscriberCount()).isEqualTo(2);
+
+        owner.cancel();
+        other.cancel();
+        assertThat(taskEventService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish after commit and drop the event on rollback")
+    void shouldPublishAfterCommitOnly() {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        AssertSubscriber<TaskEventDTO> subscriber = taskEventService.subscribe(1L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(10));
+        ArgumentCaptor<Synchronization> synchronizations = ArgumentCaptor.forClass(Synchronization.class);
+
+        // When
+        taskEventService.publish(1L, TaskEventDTO.UPDATED, 7L);
+        taskEventService.publish(1L, TaskEventDTO.DELETED, 8L);
+
+        // Then
+        assertThat(subscriber.getItems()).isEmpty();
+        verify(transactionRegistry, times(2)).registerInterposedSynchronization(synchronizations.capture());
+        synchronizations.getAllValues().get(0).afterCompletion(Status.STATUS_COMMITTED);
+        synchronizations.getAllValues().get(1).afterCompletion(Status.STATUS_ROLLEDBACK);
+        assertThat(subscriber.getItems()).extracting(TaskEventDTO::getId).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should close the stream of a subscriber that stops reading")
+    void shouldDisconnectSlowSubscriber() {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        AssertSubscriber<TaskEventDTO> slow = taskEventService.subscribe(1L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        // When: llena el buffer de 2 eventos y uno más
+        for (long id = 1; id <= 4; id++) {
+            taskEventService.publish(1L, TaskEventDTO.CREATED, id);
+        }
+
+        // Then
+        slow.assertFailedWith(BackPressureFailure.class);
+        assertThat(taskEventService.getSubscriberCount()).isZero();
+        assertThat(meterRegistry.counter("tasks.events.slow.disconnects").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should complete the streams of a user when their tokens are revoked")
+    void shouldCloseUserStreams() {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        AssertSubscriber<TaskEventDTO> owner = taskEventService.subscribe(1L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(10));
+        AssertSubscriber<TaskEventDTO> other = taskEventService.subscribe(2L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        // When
+        taskEventService.closeUser(1L);
+
+        // Then: la marca de cierre no llega al cliente
+        owner.assertCompleted();
+        assertThat(owner.getItems()).isEmpty();
+        other.assertNotTerminated();
+        assertThat(taskEventService.getSubscriberCount()).isEqualTo(1);
+
+        other.cancel();
+    }
+
+    @Test
+    @DisplayName("Should close the streams of a user only after the revoking transaction commits")
+    void shouldCloseUserStreamsAfterCommit() {
+        // Given
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        AssertSubscriber<TaskEventDTO> subscriber = taskEventService.subscribe(1L, EXPIRES_AT).subscribe().withSubscriber(AssertSubscriber.create(10));
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+        // When
+        taskEventService.closeUser(1L);
+
+        // Then
+        subscriber.assertNotTerminated();
+        verify(transactionRegistry).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    @DisplayName("Should complete the stream when the access token expires")
+    void shouldCompleteStreamAtTokenExpiration() throws InterruptedException {
+        // Given
+        AssertSubscriber<TaskEventDTO> subscriber = taskEventService.subscribe(1L, Instant.now().plusMillis(200))
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+        assertThat(taskEventService.getSubscriberCount()).isEqualTo(1);
+
+        // When
+        subscriber.awaitCompletion(Duration.ofSeconds(5));
+
+        // Then: el emisor se cancela en el hilo del temporizador justo después de completar el stream
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (taskEventService.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(subscriber.getItems()).isEmpty();
+        assertThat(taskEventService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not open a stream for an already expired token")
+    void shouldNotSubscribeWithExpiredToken() {
+        // When
+        AssertSubscriber<TaskEventDTO> subscriber = taskEventService.subscribe(1L, Instant.now().minusSeconds(1))
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        // Then
+        subscriber.assertCompleted();
+        assertThat(taskEventService.getSubscriberCount()).isZero();
+    }
+}
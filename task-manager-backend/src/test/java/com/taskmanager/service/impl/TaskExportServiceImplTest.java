@@ -0,0 +1,182 @@
+package com.taskmanager.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.model.task.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.IShardRoutingService;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.TransactionRunnerOptions;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskExportServiceImpl Unit Tests")
+class TaskExportServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private IShardRoutingService shardRoutingService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private TaskExportServiceImpl taskExportService;
+
+    private MockedStatic<QuarkusTransaction> quarkusTransaction;
+
+    private TransactionRunnerOptions runner;
+
+    // Se cierra al terminar la exportación: libera el cursor y su conexión
+    private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        taskExportService.fetchSize = 500;
+        taskExportService.flushEvery = 2;
+        taskExportService.transactionTimeout = 600;
+
+        // La transacción nueva ejecuta el bloque en el hilo del test y propaga sus excepciones, como el rollback real
+        runner = mock(TransactionRunnerOptions.class);
+        when(runner.timeout(600)).thenReturn(runner);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(runner).run(any());
+        quarkusTransaction = mockStatic(QuarkusTransaction.class);
+        quarkusTransaction.when(QuarkusTransaction::requiringNew).thenReturn(runner);
+
+        when(taskRepository.getEntityManager()).thenReturn(entityManager);
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        quarkusTransaction.close();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line and detach every task")
+    void shouldWriteNdjson() throws IOException {
+        // Given
+        List<Task> tasks = tasks(3);
+        when(taskRepository.streamByUserId(1L, 500)).thenReturn(tasks.stream().onClose(() -> streamClosed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        taskExportService.exportByUser(1L).write(output);
+
+        // Then
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertThat(line.get("id").asLong()).isEqualTo(i + 1L);
+            assertThat(line.get("title").asText()).isEqualTo("Task " + (i + 1));
+            assertThat(line.has("userId")).isFalse();
+        }
+        tasks.forEach(task -> verify(entityManager).detach(task));
+        verify(shardRoutingService).useShardForRead(1L);
+        verify(runner).timeout(600);
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should flush the output only every flush-every tasks and once at the end")
+    void shouldFlushEveryConfiguredTasks() throws IOException {
+        // Given
+        when(taskRepository.streamByUserId(1L, 500)).thenReturn(tasks(5).stream());
+        CountingOutputStream output = new CountingOutputStream();
+
+        // When
+        taskExportService.exportByUser(1L).write(output);
+
+        // Then: tras la tarea 2 y la 4, y al cerrar el generador
+        assertThat(output.flushes).isEqualTo(3);
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should close the cursor and fail the transaction when the client connection breaks")
+    void shouldCloseStreamAndFailTransactionOnWriteError() {
+        // Given
+        taskExportService.flushEvery = 1;
+        when(taskRepository.streamByUserId(1L, 500)).thenReturn(tasks(3).stream().onClose(() -> streamClosed.set(true)));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then: la excepción sale de run(), así que la transacción hace rollback
+        assertThatThrownBy(() -> taskExportService.exportByUser(1L).write(broken))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("Broken pipe");
+        assertThat(streamClosed).isTrue();
+        verify(runner, times(1)).run(any());
+        verify(entityManager, times(1)).detach(any());
+    }
+
+    private static List<Task> tasks(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            Task task = new Task("Task " + id, "Description " + id, 1L);
+            task.setId(id);
+            task.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id));
+            return task;
+        }).toList();
+    }
+
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
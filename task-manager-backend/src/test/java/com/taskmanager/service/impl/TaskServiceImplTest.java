@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -11,16 +13,39 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.taskmanager.model.Task;
-import com.taskmanager.model.User;
+import com.taskmanager.dto.TaskBatchOperationDTO;
+import com.taskmanager.dto.TaskBatchResultDTO;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskEventDTO;
+import com.taskmanager.dto.TaskPageDTO;
+import com.taskmanager.dto.TaskPatchDTO;
+import com.taskmanager.exception.PreconditionFailedException;
+import com.taskmanager.model.task.Task;
+import com.taskmanager.model.user.User;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IReadRoutingService;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.service.ITaskCacheService;
+import com.taskmanager.service.ITaskEventService;
+import com.taskmanager.utils.TaskCursor;
+import com.taskmanager.utils.TaskFilter;
+
+import jakarta.validation.Validator;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("TaskServiceImpl Unit Tests")
@@ -32,11 +57,27 @@ class TaskServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ITaskCacheService taskCacheService;
+
+    @Mock
+    private IReadRoutingService readRoutingService;
+
+    @Mock
+    private IShardRoutingService shardRoutingService;
+
+    @Mock
+    private ITaskEventService taskEventService;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
     private User testUser;
     private Task testTask;
+    private TaskDTO testTaskView;
     private User anotherUser;
 
     @BeforeEach
@@ -59,8 +100,16 @@ class TaskServiceImplTest {
         testTask.setTitle("Test Task");
         testTask.setDescription("Test Description");
         testTask.setCompleted(false);
-        testTask.setUser(testUser);
+        testTask.setUserId(testUser.getId());
         testTask.setCreatedAt(LocalDateTime.now());
+
+        testTaskView = new TaskDTO(1L, "Test Task", "Test Description", false, testTask.getCreatedAt());
+
+        // La cache delega siempre en el loader; su comportamiento se prueba en TaskCacheServiceImplTest
+        lenient().when(taskCacheService.getFirstPage(any(), anyLong(), any(), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<TaskPageDTO>>getArgument(4).get());
+        lenient().when(taskCacheService.getTask(any(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Optional<TaskDTO>>>getArgument(3).get());
     }
 
     @Test
@@ -70,68 +119,51 @@ class TaskServiceImplTest {
         Task newTask = new Task();
         newTask.setTitle("New Task");
         newTask.setDescription("New Description");
-        newTask.setUser(new User());
-        newTask.getUser().setEmail("test@example.com");
-
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         // When
-        Task result = taskService.create(newTask);
+        Task result = taskService.createForUser(1L, newTask);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getTitle()).isEqualTo("New Task");
         assertThat(result.getDescription()).isEqualTo("New Description");
-        assertThat(result.getUser()).isEqualTo(testUser);
+        assertThat(result.getUserId()).isEqualTo(1L);
 
-        verify(userRepository).findByEmail("test@example.com");
+        verify(shardRoutingService).useShardForWrite(1L);
+        verify(userRepository, never()).findByEmail(any());
     }
 
     @Test
-    @DisplayName("Should throw exception when creating task with non-existent user")
-    void shouldThrowExceptionWhenCreatingTaskWithNonExistentUser() {
-        // Given
-        Task newTask = new Task();
-        newTask.setTitle("New Task");
-        newTask.setUser(new User());
-        newTask.getUser().setEmail("nonexistent@example.com");
-
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
-        // When & Then
-        assertThatThrownBy(() -> taskService.create(newTask))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("User not found with email: nonexistent@example.com");
-
-        verify(userRepository).findByEmail("nonexistent@example.com");
-    }
-
-    @Test
-    @DisplayName("Should validate update conditions when user is owner")
-    void shouldValidateUpdateConditionsWhenUserIsOwner() {
+    @DisplayName("Should update task with a single owner-scoped statement")
+    void shouldUpdateTaskWithSingleStatement() {
         // Given
         Task updateTask = new Task();
         updateTask.setId(1L);
         updateTask.setTitle("Updated Task");
         updateTask.setDescription("Updated Description");
-        updateTask.setUser(new User());
-        updateTask.getUser().setEmail("test@example.com");
-
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByIdOptional(1L)).thenReturn(Optional.of(testTask));
-        
-        // When & Then - This test validates the business logic before the EntityManager call
-        // We expect no exception to be thrown, indicating validation passes
-        try {
-            taskService.update(updateTask);
-        } catch (NullPointerException e) {
-            // Expected due to EntityManager mock limitation - this is acceptable for unit test
-            // The business logic validation passed (no IllegalArgumentException was thrown)
-        }
-
-        // Verify the business logic was executed
-        verify(userRepository).findByEmail("test@example.com");
-        verify(taskRepository).findByIdOptional(1L);
+
+        when(taskRepository.updateContentByIdAndUserId(eq(1L), eq(1L), eq("Updated Task"), eq("Updated Description"),
+                any(LocalDateTime.class))).thenReturn(1);
+        Task stored = new Task();
+        stored.setId(1L);
+        stored.setTitle("Updated Task");
+        stored.setDescription("Updated Description");
+        stored.setCompleted(true);
+        when(taskRepository.findEntityByIdAndUserId(1L, 1L)).thenReturn(Optional.of(stored));
+
+        // When
+        Task result = taskService.updateForUser(1L, updateTask, null);
+
+        // Then: se devuelve la fila releída, con el completed que PUT no modifica
+        assertThat(result.getTitle()).isEqualTo("Updated Task");
+        assertThat(result.getDescription()).isEqualTo("Updated Description");
+        assertThat(result.getCompleted()).isTrue();
+
+        InOrder inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).updateContentByIdAndUserId(eq(1L), eq(1L), eq("Updated Task"),
+                eq("Updated Description"), any(LocalDateTime.class));
+        inOrder.verify(taskRepository).findEntityByIdAndUserId(1L, 1L);
+        verify(taskRepository, never()).findByIdOptional(any());
     }
 
     @Test
@@ -141,119 +173,192 @@ class TaskServiceImplTest {
         Task updateTask = new Task();
         updateTask.setId(1L);
         updateTask.setTitle("Updated Task");
-        updateTask.setUser(new User());
-        updateTask.getUser().setEmail("another@example.com");
+        updateTask.setDescription("Updated Description");
 
-        when(userRepository.findByEmail("another@example.com")).thenReturn(Optional.of(anotherUser));
-        when(taskRepository.findByIdOptional(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.updateContentByIdAndUserId(eq(1L), eq(2L), eq("Updated Task"), eq("Updated Description"),
+                any(LocalDateTime.class))).thenReturn(0);
 
         // When & Then
-        assertThatThrownBy(() -> taskService.update(updateTask))
+        assertThatThrownBy(() -> taskService.updateForUser(2L, updateTask, null))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("User is not the owner of the task");
-
-        verify(userRepository).findByEmail("another@example.com");
-        verify(taskRepository).findByIdOptional(1L);
+                .hasMessageContaining("Task not found with id: 1");
     }
 
     @Test
-    @DisplayName("Should find all tasks for user successfully")
-    void shouldFindAllTasksForUserSuccessfully() {
+    @DisplayName("Should patch only the completed flag of a task")
+    void shouldPatchCompletedFlag() {
         // Given
-        List<Task> userTasks = Arrays.asList(testTask);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByUserId(1L)).thenReturn(userTasks);
+        TaskPatchDTO patch = new TaskPatchDTO(null, null, true);
+        when(taskRepository.patchByIdAndUserId(eq(1L), eq(1L), eq(patch), any(LocalDateTime.class))).thenReturn(1);
 
         // When
-        List<Task> result = taskService.findAllByUser("test@example.com");
+        taskService.patchForUser(1L, 1L, patch, null);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(testTask);
-
-        verify(userRepository).findByEmail("test@example.com");
-        verify(taskRepository).findByUserId(1L);
+        verify(taskRepository).patchByIdAndUserId(eq(1L), eq(1L), eq(patch), any(LocalDateTime.class));
+        verify(taskRepository, never()).findByIdOptional(any());
     }
 
     @Test
-    @DisplayName("Should throw exception when finding tasks for non-existent user")
-    void shouldThrowExceptionWhenFindingTasksForNonExistentUser() {
+    @DisplayName("Should throw exception when patching task that doesn't belong to user")
+    void shouldThrowExceptionWhenPatchingTaskOfAnotherUser() {
         // Given
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        TaskPatchDTO patch = new TaskPatchDTO(null, null, true);
+        when(taskRepository.patchByIdAndUserId(eq(1L), eq(2L), eq(patch), any(LocalDateTime.class))).thenReturn(0);
 
         // When & Then
-        assertThatThrownBy(() -> taskService.findAllByUser("nonexistent@example.com"))
+        assertThatThrownBy(() -> taskService.patchForUser(2L, 1L, patch, null))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("User not found with email: nonexistent@example.com");
+                .hasMessageContaining("Task not found with id: 1");
+    }
+
+    @Test
+    @DisplayName("Should return a page with a next cursor when more tasks remain")
+    void shouldReturnPageWithNextCursor() {
+        // Given
+        TaskDTO secondTask = new TaskDTO(2L, "Second Task", "Second Description", false,
+                testTaskView.getCreatedAt().plusSeconds(1));
+        TaskFilter filter = TaskFilter.none();
+        when(taskRepository.findPageByUserId(1L, filter, null, 2)).thenReturn(Arrays.asList(testTaskView, secondTask));
+
+        // When
+        TaskPageDTO result = taskService.findPageByUser(1L, 7L, filter, null, 1);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(testTaskView);
+        TaskCursor next = TaskCursor.decode(result.getNextCursor());
+        assertThat(next.getCreatedAt()).isEqualTo(testTaskView.getCreatedAt());
+        assertThat(next.getId()).isEqualTo(1L);
+        assertThat(next.isDescending()).isFalse();
+        verify(taskCacheService).getFirstPage(eq(1L), eq(7L), eq(filter), eq(1), any());
+    }
+
+    @Test
+    @DisplayName("Should return the last page without a next cursor")
+    void shouldReturnLastPageWithoutNextCursor() {
+        // Given
+        TaskCursor cursor = new TaskCursor(LocalDateTime.now().minusDays(1), 10L, true);
+        TaskFilter pendingOnly = new TaskFilter(false, null, null, null, null, true);
+        when(taskRepository.findPageByUserId(1L, pendingOnly, cursor, 51)).thenReturn(Arrays.asList(testTaskView));
 
-        verify(userRepository).findByEmail("nonexistent@example.com");
+        // When
+        TaskPageDTO result = taskService.findPageByUser(1L, 7L, pendingOnly, cursor, 50);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(testTaskView);
+        assertThat(result.getNextCursor()).isNull();
+        verify(taskCacheService, never()).getFirstPage(any(), anyLong(), any(), anyInt(), any());
     }
 
     @Test
-    @DisplayName("Should find task by id and user email successfully")
-    void shouldFindTaskByIdAndUserEmailSuccessfully() {
+    @DisplayName("Should find task by id and user id successfully")
+    void shouldFindTaskByIdAndUserSuccessfully() {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByIdOptional(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTaskView));
 
         // When
-        Task result = taskService.findByIdAndUserEmail(1L, "test@example.com");
+        TaskDTO result = taskService.findByIdAndUser(1L, 1L, 7L);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result).isEqualTo(testTask);
+        assertThat(result).isEqualTo(testTaskView);
 
-        verify(userRepository).findByEmail("test@example.com");
-        verify(taskRepository).findByIdOptional(1L);
+        verify(taskRepository).findByIdAndUserId(1L, 1L);
+        verify(userRepository, never()).findByEmail(any());
     }
 
     @Test
     @DisplayName("Should throw exception when finding task that doesn't belong to user")
     void shouldThrowExceptionWhenFindingTaskThatDoesntBelongToUser() {
         // Given
-        when(userRepository.findByEmail("another@example.com")).thenReturn(Optional.of(anotherUser));
-        when(taskRepository.findByIdOptional(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findByIdAndUserId(1L, anotherUser.getId())).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> taskService.findByIdAndUserEmail(1L, "another@example.com"))
+        assertThatThrownBy(() -> taskService.findByIdAndUser(1L, anotherUser.getId(), 7L))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("User is not the owner of the task");
-
-        verify(userRepository).findByEmail("another@example.com");
-        verify(taskRepository).findByIdOptional(1L);
+                .hasMessageContaining("Task not found with id: 1");
     }
 
     @Test
     @DisplayName("Should delete task successfully when user is owner")
     void shouldDeleteTaskSuccessfullyWhenUserIsOwner() {
         // Given
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(taskRepository.findByIdOptional(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.delete("id", 1L)).thenReturn(1L);
+        when(taskRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(1L);
 
         // When
-        taskService.deleteByIdAndUserEmail(1L, "test@example.com");
+        taskService.deleteByIdAndUser(1L, 1L, null);
 
         // Then
-        verify(userRepository).findByEmail("test@example.com");
-        verify(taskRepository).findByIdOptional(1L);
-        verify(taskRepository).delete("id", 1L);
+        verify(taskRepository).deleteByIdAndUserId(1L, 1L);
+        verify(userRepository).incrementTaskVersion(1L);
+        verify(taskCacheService).invalidateUser(1L);
+        verify(readRoutingService).pinToPrimary(1L);
+        verify(taskEventService).publish(1L, TaskEventDTO.DELETED, 1L);
+        verify(taskRepository, never()).findByIdOptional(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a patch when the If-Match version is stale")
+    void shouldRejectPatchWithStaleVersion() {
+        // Given
+        TaskPatchDTO patch = new TaskPatchDTO(null, null, true);
+        when(userRepository.incrementTaskVersionIfMatches(1L, 4L)).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.patchForUser(1L, 1L, patch, 4L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(taskRepository, never()).patchByIdAndUserId(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should read the task version without loading tasks")
+    void shouldGetTaskVersion() {
+        // Given
+        when(userRepository.findTaskVersionById(1L)).thenReturn(Optional.of(7L));
+
+        // When
+        long version = taskService.getTaskVersion(1L);
+
+        // Then
+        assertThat(version).isEqualTo(7L);
+        verify(taskRepository, never()).findPageByUserId(any(), any(), any(), anyInt());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting task that doesn't belong to user")
     void shouldThrowExceptionWhenDeletingTaskThatDoesntBelongToUser() {
         // Given
-        when(userRepository.findByEmail("another@example.com")).thenReturn(Optional.of(anotherUser));
-        when(taskRepository.findByIdOptional(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.deleteByIdAndUserId(1L, anotherUser.getId())).thenReturn(0L);
 
         // When & Then
-        assertThatThrownBy(() -> taskService.deleteByIdAndUserEmail(1L, "another@example.com"))
+        assertThatThrownBy(() -> taskService.deleteByIdAndUser(1L, anotherUser.getId(), null))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("User is not the owner of the task");
+                .hasMessageContaining("Task not found with id: 1");
+    }
+
+    @Test
+    @DisplayName("Should apply a batch with one lookup and report a result per operation")
+    void shouldApplyBatchWithPerItemResults() {
+        // Given
+        Task toDelete = new Task("Old Task", "Old Description", testUser.getId());
+        toDelete.setId(2L);
+        List<TaskBatchOperationDTO> operations = Arrays.asList(
+                new TaskBatchOperationDTO("create", null, "New Task", "New Description", null),
+                new TaskBatchOperationDTO("update", 1L, "Renamed Task", null, true),
+                new TaskBatchOperationDTO("delete", 2L, null, null, null),
+                new TaskBatchOperationDTO("delete", 99L, null, null, null));
+        when(taskRepository.findByIdsAndUserId(Set.of(1L, 2L, 99L), 1L)).thenReturn(Arrays.asList(testTask, toDelete));
+
+        // When
+        List<TaskBatchResultDTO> results = taskService.applyBatch(1L, operations);
 
-        verify(userRepository).findByEmail("another@example.com");
-        verify(taskRepository).findByIdOptional(1L);
+        // Then
+        assertThat(results).extracting(TaskBatchResultDTO::getStatus).containsExactly(201, 200, 200, 404);
+        assertThat(testTask.getTitle()).isEqualTo("Renamed Task");
+        assertThat(testTask.getDescription()).isEqualTo("Test Description");
+        assertThat(testTask.getCompleted()).isTrue();
+        verify(taskRepository).persist(any(Task.class));
+        verify(taskRepository).delete(toDelete);
     }
 }
@@ -0,0 +1,205 @@
+package com.taskmanager.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.model.task.Task;
+import com.taskmanager.repository.TaskShardRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.service.IShardRoutingService;
+import com.taskmanager.service.ITaskCacheService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.TransactionRunnerOptions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskShardRebalanceServiceImpl Unit Tests")
+class TaskShardRebalanceServiceImplTest {
+
+    private static final String SOURCE = IShardRoutingService.DEFAULT_SHARD;
+
+    private static final String TARGET = "shard1";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private IShardRoutingService shardRoutingService;
+
+    @Mock
+    private ITaskCacheService taskCacheService;
+
+    @Mock
+    private TaskShardRepository taskShardRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TaskShardRebalanceServiceImpl rebalanceService;
+
+    private MockedStatic<QuarkusTransaction> quarkusTransaction;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() throws Exception {
+        rebalanceService.batchSize = 200;
+        rebalanceService.chunkSize = 2;
+        rebalanceService.pauseMillis = 0;
+        rebalanceService.directoryTtl = 0;
+        rebalanceService.init();
+
+        // Cada transacción nueva ejecuta el bloque en el hilo del test
+        TransactionRunnerOptions runner = mock(TransactionRunnerOptions.class);
+        lenient().when(runner.call(any())).thenAnswer(invocation -> invocation.<Callable<?>>getArgument(0).call());
+        quarkusTransaction = mockStatic(QuarkusTransaction.class);
+        quarkusTransaction.when(QuarkusTransaction::requiringNew).thenReturn(runner);
+
+        when(userRepository.findTaskShardsAfter(0L, 200)).thenReturn(Map.of(1L, SOURCE));
+        when(shardRoutingService.placementFor(1L)).thenReturn(TARGET);
+        lenient().when(userRepository.incrementAndGetTaskVersion(1L)).thenReturn(Optional.of(5L));
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        quarkusTransaction.close();
+    }
+
+    @Test
+    @DisplayName("Should copy every chunk, switch the directory and only then delete the source")
+    void shouldCopySwitchAndThenDeleteSource() {
+        // Given
+        Task first = task(1L);
+        Task second = task(2L);
+        Task third = task(3L);
+        when(userRepository.lockTaskShardById(1L))
+                .thenReturn(Optional.of(SOURCE), Optional.of(SOURCE), Optional.of(TARGET), Optional.of(TARGET));
+        when(taskShardRepository.findByUserIdAfter(SOURCE, 1L, 0L, 2)).thenReturn(List.of(first, second));
+        when(taskShardRepository.findByUserIdAfter(SOURCE, 1L, 2L, 2)).thenReturn(List.of(third));
+        when(userRepository.incrementTaskVersionIfMatches(1L, 5L)).thenReturn(1);
+        when(taskShardRepository.deleteByUserId(TARGET, 1L, 2)).thenReturn(0);
+        when(taskShardRepository.deleteByUserId(SOURCE, 1L, 2)).thenReturn(2, 1);
+
+        // When
+        long moved = rebalanceService.rebalance();
+
+        // Then: el origen conserva todas las tareas hasta después del cambio de directorio
+        assertThat(moved).isEqualTo(1);
+        InOrder order = inOrder(taskShardRepository, userRepository, shardRoutingService);
+        order.verify(taskShardRepository).deleteByUserId(TARGET, 1L, 2);
+        order.verify(userRepository).incrementAndGetTaskVersion(1L);
+        order.verify(taskShardRepository).insertAll(TARGET, List.of(first, second));
+        order.verify(taskShardRepository).insertAll(TARGET, List.of(third));
+        order.verify(userRepository).incrementTaskVersionIfMatches(1L, 5L);
+        order.verify(userRepository).updateTaskShard(1L, TARGET);
+        order.verify(shardRoutingService).invalidate(1L);
+        order.verify(taskShardRepository, times(2)).deleteByUserId(SOURCE, 1L, 2);
+        assertThat(meterRegistry.counter("tasks.shard.moves").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should retry the copy and keep the user in place when tasks keep changing")
+    void shouldKeepUserInPlaceWhenTasksChangeDuringCopy() {
+        // Given
+        when(userRepository.lockTaskShardById(1L)).thenReturn(Optional.of(SOURCE));
+        when(taskShardRepository.findByUserIdAfter(SOURCE, 1L, 0L, 2)).thenReturn(List.of(task(1L)));
+        when(userRepository.incrementTaskVersionIfMatches(1L, 5L)).thenReturn(0);
+
+        // When
+        long moved = rebalanceService.rebalance();
+
+        // Then
+        assertThat(moved).isZero();
+        verify(userRepository, times(TaskShardRebalanceServiceImpl.MOVE_ATTEMPTS)).incrementAndGetTaskVersion(1L);
+        verify(userRepository, never()).updateTaskShard(any(), any());
+        verify(taskShardRepository, never()).deleteByUserId(eq(SOURCE), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should leave every task in the source shard when a chunk fails")
+    void shouldLeaveTasksInSourceWhenChunkFails() {
+        // Given
+        when(userRepository.lockTaskShardById(1L)).thenReturn(Optional.of(SOURCE));
+        when(taskShardRepository.findByUserIdAfter(SOURCE, 1L, 0L, 2)).thenReturn(List.of(task(1L), task(2L)));
+        doThrow(new IllegalStateException("Shard unavailable")).when(taskShardRepository).insertAll(eq(TARGET), anyList());
+
+        // When
+        long moved = rebalanceService.rebalance();
+
+        // Then
+        assertThat(moved).isZero();
+        verify(userRepository, never()).incrementTaskVersionIfMatches(any(), anyLong());
+        verify(userRepository, never()).updateTaskShard(any(), any());
+        verify(taskShardRepository, never()).deleteByUserId(eq(SOURCE), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not move a user whose shard changed since it was listed")
+    void shouldSkipUserWhoseShardChanged() {
+        // Given
+        when(userRepository.lockTaskShardById(1L)).thenReturn(Optional.of(TARGET));
+
+        // When
+        long moved = rebalanceService.rebalance();
+
+        // Then
+        assertThat(moved).isZero();
+        verify(taskShardRepository, never()).deleteByUserId(any(), any(), anyInt());
+        verify(taskShardRepository, never()).findByUserIdAfter(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should keep the source tasks when the user is back in that shard before they are deleted")
+    void shouldKeepSourceTasksOfUserMovedBack() {
+        // Given
+        when(userRepository.lockTaskShardById(1L)).thenReturn(Optional.of(SOURCE));
+        when(taskShardRepository.findByUserIdAfter(SOURCE, 1L, 0L, 2)).thenReturn(List.of(task(1L)));
+        when(userRepository.incrementTaskVersionIfMatches(1L, 5L)).thenReturn(1);
+
+        // When
+        long moved = rebalanceService.rebalance();
+
+        // Then
+        assertThat(moved).isEqualTo(1);
+        verify(userRepository).updateTaskShard(1L, TARGET);
+        verify(taskShardRepository, never()).deleteByUserId(eq(SOURCE), any(), anyInt());
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task("Task " + id, "Description " + id, 1L);
+        task.setId(id);
+        return task;
+    }
+}
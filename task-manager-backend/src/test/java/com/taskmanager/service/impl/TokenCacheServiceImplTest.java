@@ -0,0 +1,139 @@
+package com.taskmanager.service.impl;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenCacheServiceImpl Unit Tests")
+class TokenCacheServiceImplTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenCacheServiceImpl tokenCacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        tokenCacheService.maxSize = 100;
+        tokenCacheService.ttl = 300;
+        tokenCacheService.init();
+    }
+
+    @Test
+    @DisplayName("Should return cached validity and record hits and misses")
+    void shouldReturnCachedValidity() {
+        // Given
+        Instant expiration = Instant.now().plusSeconds(3600);
+
+        // When
+        boolean missed = tokenCacheService.getValidity("token-1").isEmpty();
+        tokenCacheService.putValidity("token-1", 1L, true, expiration);
+
+        // Then
+        assertThat(missed).isTrue();
+        assertThat(tokenCacheService.getValidity("token-1")).contains(true);
+        assertThat(tokenCacheService.getHitRatio()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that are already expired")
+    void shouldNotCacheExpiredTokens() {
+        // When
+        tokenCacheService.putValidity("token-1", 1L, true, Instant.now().minusSeconds(1));
+
+        // Then
+        assertThat(tokenCacheService.getValidity("token-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the tokens of the given user")
+    void shouldInvalidateTokensOfUser() {
+        // Given
+        Instant expiration = Instant.now().plusSeconds(3600);
+        tokenCacheService.putValidity("token-1", 1L, true, expiration);
+        tokenCacheService.putValidity("token-2", 1L, true, expiration);
+        tokenCacheService.putValidity("token-3", 2L, true, expiration);
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // When
+        tokenCacheService.invalidateUser(1L);
+
+        // Then
+        assertThat(tokenCacheService.getValidity("token-1")).isEmpty();
+        assertThat(tokenCacheService.getValidity("token-2")).isEmpty();
+        assertThat(tokenCacheService.getValidity("token-3")).contains(true);
+        verify(transactionRegistry, never()).registerInterposedSynchronization(any(Synchronization.class));
+    }
+
+    @Test
+    @DisplayName("Should invalidate again after the transaction completes")
+    void shouldInvalidateAgainAfterTransactionCompletes() {
+        // Given
+        Instant expiration = Instant.now().plusSeconds(3600);
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        // When
+        tokenCacheService.invalidateUser(1L);
+        tokenCacheService.putValidity("token-1", 1L, true, expiration);
+
+        // Then
+        ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactionRegistry).registerInterposedSynchronization(captor.capture());
+        captor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+        assertThat(tokenCacheService.getValidity("token-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load the token epoch once and reload it after invalidation")
+    void shouldCacheTokenEpoch() {
+        // Given
+        when(userRepository.findTokenEpochByEmail("test@example.com"))
+                .thenReturn(Optional.of(3L), Optional.of(4L));
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // When
+        Optional<Long> first = tokenCacheService.getTokenEpoch("test@example.com");
+        Optional<Long> cached = tokenCacheService.getTokenEpoch("test@example.com");
+        tokenCacheService.invalidateTokenEpoch("test@example.com");
+        Optional<Long> reloaded = tokenCacheService.getTokenEpoch("test@example.com");
+
+        // Then
+        assertThat(first).contains(3L);
+        assertThat(cached).contains(3L);
+        assertThat(reloaded).contains(4L);
+        verify(userRepository, times(2)).findTokenEpochByEmail("test@example.com");
+    }
+}
@@ -0,0 +1,119 @@
+package com.taskmanager.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.repository.TokenRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenPurgeServiceImpl Unit Tests")
+class TokenPurgeServiceImplTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TokenPurgeServiceImpl tokenPurgeService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        tokenPurgeService.expirationTime = 3600;
+        tokenPurgeService.refreshExpirationTime = 1209600;
+        tokenPurgeService.batchSize = 2;
+        tokenPurgeService.pauseMillis = 0;
+        tokenPurgeService.init();
+    }
+
+    @Test
+    @DisplayName("Should delete in batches walking the ids from the last purged one")
+    void shouldPurgeInKeysetBatches() {
+        // Given
+        when(tokenRepository.findPurgeableIds(eq(0L), any(), eq(2))).thenReturn(List.of(1L, 2L));
+        when(tokenRepository.findPurgeableIds(eq(2L), any(), eq(2))).thenReturn(List.of(5L, 7L));
+        when(tokenRepository.findPurgeableIds(eq(7L), any(), eq(2))).thenReturn(List.of(9L));
+        when(tokenRepository.deleteByIds(anyList())).thenAnswer(invocation -> (long) invocation.<List<Long>>getArgument(0).size());
+
+        // When
+        long removed = tokenPurgeService.purgeTokens();
+
+        // Then: el último lote incompleto termina la purga sin otra consulta
+        assertThat(removed).isEqualTo(5);
+        verify(tokenRepository).deleteByIds(List.of(1L, 2L));
+        verify(tokenRepository).deleteByIds(List.of(5L, 7L));
+        verify(tokenRepository).deleteByIds(List.of(9L));
+        verify(tokenRepository, never()).findPurgeableIds(eq(9L), any(), anyInt());
+        assertThat(meterRegistry.summary("jwt.purge.rows").totalAmount()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should not delete anything when no token is purgeable")
+    void shouldDoNothingWithoutPurgeableTokens() {
+        // Given
+        when(tokenRepository.findPurgeableIds(eq(0L), any(), eq(2))).thenReturn(List.of());
+
+        // When
+        long removed = tokenPurgeService.purgeTokens();
+
+        // Then
+        assertThat(removed).isZero();
+        verify(tokenRepository, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Should only purge tokens older than the longest token lifetime")
+    void shouldUseLongestLifetimeAsCutoff() {
+        // Given
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(tokenRepository.findPurgeableIds(eq(0L), cutoff.capture(), eq(2))).thenReturn(List.of());
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        tokenPurgeService.purgeTokens();
+        LocalDateTime after = LocalDateTime.now();
+
+        // Then
+        assertThat(cutoff.getValue())
+                .isBetween(before.minusSeconds(1209600), after.minusSeconds(1209600));
+    }
+
+    @Test
+    @DisplayName("Should keep a consumed refresh token row until its refresh lifetime has passed")
+    void shouldKeepConsumedRefreshRow() {
+        // Given: fila con logout de un refresh token emitido hace una hora y ya rotado
+        LocalDateTime consumedRowCreatedAt = LocalDateTime.now().minusHours(1);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(tokenRepository.findPurgeableIds(eq(0L), cutoff.capture(), eq(2))).thenReturn(List.of());
+
+        // When
+        tokenPurgeService.purgeTokens();
+
+        // Then: la consulta solo borra filas creadas antes del corte, sin importar el logout
+        assertThat(consumedRowCreatedAt).isAfter(cutoff.getValue());
+        verify(tokenRepository, never()).deleteByIds(anyList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskmanager.service.impl;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.utils.JwtUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdentityServiceImpl Unit Tests")
+class UserIdentityServiceImplTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JsonWebToken jwt;
+
+    @InjectMocks
+    private UserIdentityServiceImpl userIdentityService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        userIdentityService.maxSize = 100;
+        userIdentityService.ttl = 300;
+        userIdentityService.init();
+    }
+
+    @Test
+    @DisplayName("Should read the user id from the uid claim without querying the database")
+    void shouldResolveUserIdFromClaim() {
+        // Given
+        when(jwt.getClaim(JwtUtils.USER_ID_CLAIM)).thenReturn(7L);
+
+        // When
+        Long userId = userIdentityService.resolveUserId(jwt);
+
+        // Then
+        assertThat(userId).isEqualTo(7L);
+        verify(userRepository, never()).findIdByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Should resolve tokens without uid by email once and cache the id")
+    void shouldResolveUserIdByEmailOnce() {
+        // Given
+        when(jwt.getClaim(JwtUtils.USER_ID_CLAIM)).thenReturn(null);
+        when(jwt.getName()).thenReturn("test@example.com");
+        when(userRepository.findIdByEmail("test@example.com")).thenReturn(Optional.of(3L));
+
+        // When
+        Long first = userIdentityService.resolveUserId(jwt);
+        Long second = userIdentityService.resolveUserId(jwt);
+
+        // Then
+        assertThat(first).isEqualTo(3L);
+        assertThat(second).isEqualTo(3L);
+        verify(userRepository, times(1)).findIdByEmail("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the user does not exist")
+    void shouldThrowExceptionWhenUserNotFound() {
+        // Given
+        when(jwt.getClaim(JwtUtils.USER_ID_CLAIM)).thenReturn(null);
+        when(jwt.getName()).thenReturn("nonexistent@example.com");
+        when(userRepository.findIdByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> userIdentityService.resolveUserId(jwt))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("User not found with email: nonexistent@example.com");
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskmanager.utils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.build.Jwt;
+
+/**
+ * Costo por request de leer los claims del JWT en el filtro de autenticación.
+ *
+ * reparsePerHelper reproduce el comportamiento anterior de JwtUtils, donde cada helper
+ * (expiración, email, nombre) volvía a verificar la firma RSA. reuseVerifiedToken usa
+ * JwtTokenContext con el token que Quarkus ya verificó para el SecurityIdentity.
+ *
+ * Ejecutar con: mvn -Pbenchmark test -DskipTests -Dbenchmark=JwtParsingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String ISSUER = "https://task-manager.com";
+
+    private JWTParser jwtParser;
+    private String token;
+    private JsonWebToken verifiedToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        token = Jwt.issuer(ISSUER)
+                .upn("user@example.com")
+                .subject("user@example.com")
+                .claim("name", "Benchmark User")
+                .groups(Set.of("user"))
+                .expiresIn(Duration.ofHours(1))
+                .sign(keyPair.getPrivate());
+
+        jwtParser = new DefaultJWTParser(new JWTAuthContextInfo(keyPair.getPublic(), ISSUER));
+        verifiedToken = jwtParser.parse(token);
+    }
+
+    @Benchmark
+    public void reparsePerHelper(Blackhole blackhole) throws Exception {
+        blackhole.consume(Instant.ofEpochSecond(jwtParser.parse(token).getExpirationTime()));
+        blackhole.consume(jwtParser.parse(token).<String>getClaim("upn"));
+        blackhole.consume(jwtParser.parse(token).<String>getClaim("name"));
+    }
+
+    @Benchmark
+    public void reuseVerifiedToken(Blackhole blackhole) {
+        // Un contexto nuevo por invocación, igual que el scope de request
+        JwtTokenContext tokenContext = new JwtTokenContext();
+        tokenContext.jwt = verifiedToken;
+        tokenContext.jwtParser = jwtParser;
+
+        JwtUtils jwtUtils = new JwtUtils();
+        jwtUtils.tokenContext = tokenContext;
+
+        blackhole.consume(jwtUtils.getExpiration(token));
+        blackhole.consume(jwtUtils.getEmail(token));
+        blackhole.consume(jwtUtils.getName(token));
+    }
+}